@@ -0,0 +1,11 @@
+package test.project.bookingapp.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(value = "app.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
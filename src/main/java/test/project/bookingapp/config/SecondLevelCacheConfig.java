@@ -0,0 +1,81 @@
+package test.project.bookingapp.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level and query cache for near-static reference data, kept in Caffeine
+ * through JCache. Every region is created here with its own bounds and metrics; Hibernate
+ * is configured to fail on startup when an entity asks for a region that is missing.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    public static final String ROLES_REGION = "roles";
+    public static final String ACCOMMODATIONS_REGION = "accommodations";
+    public static final String USER_ROLES_REGION = "user_roles";
+
+    /**
+     * One manager per application context, so contexts started side by side in tests
+     * do not share regions.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            MeterRegistry meterRegistry,
+            @Value("${jpa.cache.max-size:10000}") long maxSize,
+            @Value("${jpa.cache.ttl:PT1H}") Duration ttl,
+            @Value("${jpa.cache.query-max-size:1000}") long queryMaxSize) {
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("second-level-cache:" + UUID.randomUUID()),
+                        SecondLevelCacheConfig.class.getClassLoader());
+        createRegion(cacheManager, meterRegistry, ROLES_REGION,
+                OptionalLong.of(maxSize), ttl);
+        createRegion(cacheManager, meterRegistry, ACCOMMODATIONS_REGION,
+                OptionalLong.of(maxSize), ttl);
+        // Evicted on the user cache NOTIFY when roles change on another node
+        createRegion(cacheManager, meterRegistry, USER_ROLES_REGION,
+                OptionalLong.of(maxSize), ttl);
+        createRegion(cacheManager, meterRegistry,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.of(queryMaxSize), ttl);
+        // Timestamps must outlive every cached query result, so they are never evicted
+        createRegion(cacheManager, meterRegistry,
+                RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.empty(), null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager cacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry,
+                              String name, OptionalLong maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate caches immutable disassembled state, so entries need not be copied
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(maxSize);
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        Cache<Object, Object> region = cacheManager.createCache(name, configuration);
+        JCacheMetrics.monitor(meterRegistry, region);
+    }
+}
@@ -2,6 +2,7 @@ package test.project.bookingapp.config;
 
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,9 +26,14 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * Hashes stored with a lower strength are upgraded on the next successful login, see
+     * {@link test.project.bookingapp.security.CustomUserDetailsService#updatePassword}.
+     */
     @Bean
-    public PasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder getPasswordEncoder(
+            @Value("${security.password-hashing.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -48,7 +54,7 @@ public class SecurityConfig {
                                         "/v3/api-docs/**", "/auth/**", "error",
                                         "/accommodations", "/accommodations/**",
                                         "/payments/success", "/payments/cancel",
-                                        "/health")
+                                        "/payments/webhook", "/health")
                                 .permitAll()
                                 .anyRequest()
                                 .authenticated()
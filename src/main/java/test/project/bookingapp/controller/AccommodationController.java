@@ -4,12 +4,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,11 +24,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import test.project.bookingapp.dto.CursorPage;
+import test.project.bookingapp.dto.accommodationdtos.AccommodationAvailabilityDto;
 import test.project.bookingapp.dto.accommodationdtos.AccommodationRequestDto;
 import test.project.bookingapp.dto.accommodationdtos.AccommodationResponseDto;
+import test.project.bookingapp.dto.accommodationdtos.AccommodationSearchParametersDto;
 import test.project.bookingapp.service.AccommodationService;
+import test.project.bookingapp.service.catalog.Versioned;
 
 @RequiredArgsConstructor
 @RestController
@@ -44,18 +54,55 @@ public class AccommodationController {
     }
 
     @Operation(summary = "Get all accommodations",
-            description = "Retrieves a list of all available accommodations")
+            description = "Retrieves a list of all available accommodations. The ETag is "
+                    + "the catalog version; send it as If-None-Match to get 304 when "
+                    + "nothing has changed")
     @GetMapping
-    public Page<AccommodationResponseDto> getAllAccommodations(
+    public ResponseEntity<Page<AccommodationResponseDto>> getAllAccommodations(
             @ParameterObject @PageableDefault Pageable pageable) {
-        return accommodationService.getAllAccommodations(pageable);
+        return conditional(accommodationService.getAllAccommodations(pageable));
+    }
+
+    @Operation(summary = "Scroll accommodations",
+            description = "Keyset-paginated variant of the accommodation listing, by id. "
+                    + "Pass the returned nextCursor as cursor to get the following slice")
+    @GetMapping("/scroll")
+    public CursorPage<AccommodationResponseDto> scrollAccommodations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return accommodationService.scrollAccommodations(cursor, size);
+    }
+
+    @Operation(summary = "Search available accommodations",
+            description = "Retrieves accommodations that are free for every night from "
+                    + "check-in until check-out, optionally filtered by type, location and "
+                    + "required amenities")
+    @GetMapping("/available")
+    public Slice<AccommodationResponseDto> searchAvailableAccommodations(
+            @ParameterObject AccommodationSearchParametersDto searchParams,
+            @ParameterObject @PageableDefault(sort = "id") Pageable pageable) {
+        return accommodationService.searchAvailableAccommodations(searchParams, pageable);
     }
 
     @Operation(summary = "Get accommodation by ID",
-            description = "Retrieves details of a specific accommodation by ID")
+            description = "Retrieves details of a specific accommodation by ID. The ETag is "
+                    + "the accommodation version; send it as If-None-Match to get 304 when "
+                    + "it has not changed")
     @GetMapping("/{id}")
-    public AccommodationResponseDto getAccommodationById(@PathVariable Long id) {
-        return accommodationService.getAccommodationById(id);
+    public ResponseEntity<AccommodationResponseDto> getAccommodationById(
+            @PathVariable Long id) {
+        return conditional(accommodationService.getAccommodationById(id));
+    }
+
+    @Operation(summary = "Check accommodation availability",
+            description = "Checks whether an accommodation is free for every night "
+                    + "from check-in until check-out")
+    @GetMapping("/{id}/availability")
+    public AccommodationAvailabilityDto checkAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        return accommodationService.checkAvailability(id, checkIn, checkOut);
     }
 
     @Operation(summary = "Update accommodation details",
@@ -86,4 +133,15 @@ public class AccommodationController {
     public void deleteAccommodation(@PathVariable Long id) {
         accommodationService.deleteAccommodation(id);
     }
+
+    /**
+     * Spring answers a matching If-None-Match with 304 before the body is serialized.
+     * Clients must revalidate every time, since changes are not announced.
+     */
+    private <T> ResponseEntity<T> conditional(Versioned<T> response) {
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(response.value());
+    }
 }
@@ -1,17 +1,24 @@
 package test.project.bookingapp.controller;
 
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import test.project.bookingapp.dto.userdtos.UserLoginRequestDto;
 import test.project.bookingapp.dto.userdtos.UserLoginResponseDto;
 import test.project.bookingapp.dto.userdtos.UserRegistrationRequestDto;
 import test.project.bookingapp.dto.userdtos.UserResponseDto;
+import test.project.bookingapp.security.PasswordHashingExecutor;
 import test.project.bookingapp.service.impl.JwtAuthenticationService;
 
 @RequiredArgsConstructor
@@ -20,18 +27,32 @@ import test.project.bookingapp.service.impl.JwtAuthenticationService;
 @Tag(name = "Authentication", description = "Endpoints for user registration and authentication")
 public class AuthenticationController {
     private final JwtAuthenticationService jwtAuthenticationService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @Operation(summary = "Register a new user",
             description = "Creates a new user account with the provided registration details")
     @PostMapping("/register")
-    public UserResponseDto register(@Valid @RequestBody UserRegistrationRequestDto request) {
-        return jwtAuthenticationService.register(request);
+    public CompletableFuture<UserResponseDto> register(
+            @Valid @RequestBody UserRegistrationRequestDto request) {
+        return passwordHashingExecutor.submit(() -> jwtAuthenticationService.register(request));
     }
 
     @Operation(summary = "User login",
             description = "Authenticates the user and returns a JWT token")
     @PostMapping("/login")
-    public UserLoginResponseDto login(@Valid @RequestBody UserLoginRequestDto request) {
-        return jwtAuthenticationService.authenticate(request);
+    public CompletableFuture<UserLoginResponseDto> login(
+            @Valid @RequestBody UserLoginRequestDto request) {
+        return passwordHashingExecutor.submit(
+                () -> jwtAuthenticationService.authenticate(request));
+    }
+
+    @Operation(summary = "User logout",
+            description = "Revokes the JWT token used for this request")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    public void logout(Authentication authentication) {
+        Claims claims = (Claims) authentication.getCredentials();
+        jwtAuthenticationService.logout(claims.getId(), claims.getExpiration().toInstant());
     }
 }
@@ -21,8 +21,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import test.project.bookingapp.dto.CursorPage;
 import test.project.bookingapp.dto.bookingdtos.BookingRequestDto;
 import test.project.bookingapp.dto.bookingdtos.BookingResponseDto;
 import test.project.bookingapp.dto.bookingdtos.BookingSearchParametersDto;
@@ -59,6 +61,20 @@ public class BookingController {
         return bookingService.getBookingsByUserAndStatus(bookingSearchParametersDto, pageable);
     }
 
+    @Operation(summary = "Scroll bookings by user and status",
+            description = "Keyset-paginated variant of the admin booking listing, latest "
+                    + "check-in first. Pass the returned nextCursor as cursor to get the "
+                    + "following slice (Only accessible by admins)")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/scroll")
+    public CursorPage<BookingResponseDto> scrollBookingsByUserAndStatus(
+            BookingSearchParametersDto bookingSearchParametersDto,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return bookingService.scrollBookingsByUserAndStatus(bookingSearchParametersDto,
+                cursor, size);
+    }
+
     @Operation(summary = "Get user bookings",
             description = "Retrieves bookings for the currently authenticated user")
     @GetMapping("/my")
@@ -68,6 +84,17 @@ public class BookingController {
         return bookingService.getMyBookings(getUserId(authentication), pageable);
     }
 
+    @Operation(summary = "Scroll user bookings",
+            description = "Keyset-paginated variant of the user's bookings, latest check-in "
+                    + "first. Pass the returned nextCursor as cursor to get the following slice")
+    @GetMapping("/my/scroll")
+    public CursorPage<BookingResponseDto> scrollMyBookings(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return bookingService.scrollMyBookings(getUserId(authentication), cursor, size);
+    }
+
     @Operation(summary = "Get booking by ID",
             description = "Provides details of a specific booking by ID")
     @GetMapping("/{id}")
@@ -0,0 +1,65 @@
+package test.project.bookingapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import test.project.bookingapp.service.export.ExportFormat;
+import test.project.bookingapp.service.export.ExportService;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/export")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Export", description = "Streaming exports of whole tables (Only accessible by admins)")
+public class ExportController {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportService exportService;
+
+    @Operation(summary = "Export all bookings",
+            description = "Streams every booking as NDJSON or CSV, optionally gzip-encoded")
+    @GetMapping("/bookings")
+    public void exportBookings(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                               @RequestParam(defaultValue = "false") boolean gzip,
+                               HttpServletResponse response) throws IOException {
+        try (OutputStream out = openAttachment(response, "bookings", format, gzip)) {
+            exportService.exportBookings(format, out);
+        }
+    }
+
+    @Operation(summary = "Export all payments",
+            description = "Streams every payment as NDJSON or CSV, optionally gzip-encoded")
+    @GetMapping("/payments")
+    public void exportPayments(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                               @RequestParam(defaultValue = "false") boolean gzip,
+                               HttpServletResponse response) throws IOException {
+        try (OutputStream out = openAttachment(response, "payments", format, gzip)) {
+            exportService.exportPayments(format, out);
+        }
+    }
+
+    private OutputStream openAttachment(HttpServletResponse response, String name,
+                                        ExportFormat format, boolean gzip) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + format.getExtension())
+                .build()
+                .toString());
+        if (!gzip) {
+            return response.getOutputStream();
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+    }
+}
@@ -17,10 +17,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import test.project.bookingapp.dto.CursorPage;
 import test.project.bookingapp.dto.payment.CanceledPaymentResponseDto;
 import test.project.bookingapp.dto.payment.PaymentRequestDto;
 import test.project.bookingapp.dto.payment.PaymentResponseDto;
@@ -47,6 +49,19 @@ public class PaymentController {
         return paymentService.getPayments(user, userId, pageable);
     }
 
+    @Operation(summary = "Scroll payments",
+            description = "Keyset-paginated variant of the payment listing, newest first. "
+                    + "Pass the returned nextCursor as cursor to get the following slice.")
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ROLE_CUSTOMER') or hasRole('ROLE_ADMIN')")
+    public CursorPage<PaymentResponseDto> scrollPayments(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal User user) {
+        return paymentService.scrollPayments(user, userId, cursor, size);
+    }
+
     @Operation(summary = "Initiate a payment",
             description = "Creates a payment session for a booking.")
     @ResponseStatus(HttpStatus.CREATED)
@@ -71,6 +86,14 @@ public class PaymentController {
         return paymentService.processCanceledPayment(sessionId);
     }
 
+    @Operation(summary = "Handle Stripe webhook",
+            description = "Receives signed Stripe checkout session events.")
+    @PostMapping("/webhook")
+    public void handleWebhook(@RequestBody String payload,
+                              @RequestHeader("Stripe-Signature") String signatureHeader) {
+        paymentService.handleWebhookEvent(payload, signatureHeader);
+    }
+
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
     @PutMapping("/renew/{paymentId}")
     public PaymentResponseDto renewPaymentSession(@PathVariable Long paymentId) {
@@ -0,0 +1,30 @@
+package test.project.bookingapp.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import test.project.bookingapp.utils.KeysetCursor;
+
+/**
+ * One slice of a keyset-paginated listing. There is no total count; {@code nextCursor} is
+ * passed back as {@code cursor} to fetch the following slice and is null on the last one.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext) {
+    public static final int MAX_SIZE = 100;
+
+    public static int limit(int requestedSize) {
+        return Math.min(Math.max(requestedSize, 1), MAX_SIZE);
+    }
+
+    /**
+     * Builds the slice from up to {@code size + 1} rows; the extra row only signals that
+     * another slice exists.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<E, KeysetCursor> keyOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> slice = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? keyOf.apply(slice.get(slice.size() - 1)).encode() : null;
+        return new CursorPage<>(slice.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,11 @@
+package test.project.bookingapp.dto.accommodationdtos;
+
+import java.time.LocalDate;
+
+public record AccommodationAvailabilityDto(
+        Long accommodationId,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        boolean available
+) {
+}
@@ -0,0 +1,15 @@
+package test.project.bookingapp.dto.accommodationdtos;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import test.project.bookingapp.model.accommodation.AccommodationType;
+
+public record AccommodationSearchParametersDto(
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+        AccommodationType type,
+        String location,
+        List<String> amenities
+) {
+}
@@ -0,0 +1,14 @@
+package test.project.bookingapp.dto.bookingdtos;
+
+import java.time.LocalDate;
+import test.project.bookingapp.model.booking.BookingStatus;
+
+public record BookingExportRow(
+        Long id,
+        Long userId,
+        Long accommodationId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        BookingStatus status
+) {
+}
@@ -1,6 +1,7 @@
 package test.project.bookingapp.dto.bookingdtos;
 
 import java.time.LocalDate;
+import test.project.bookingapp.model.booking.BookingStatus;
 
 public record BookingResponseDto(
         Long id,
@@ -10,4 +11,11 @@ public record BookingResponseDto(
         Long userId,
         String status
 ) {
+    /**
+     * Used by JPQL and criteria constructor expressions, which pass the mapped enum.
+     */
+    public BookingResponseDto(Long id, LocalDate checkInDate, LocalDate checkOutDate,
+                              Long accommodationId, Long userId, BookingStatus status) {
+        this(id, checkInDate, checkOutDate, accommodationId, userId, status.name());
+    }
 }
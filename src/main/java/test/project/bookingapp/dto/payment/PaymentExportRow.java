@@ -0,0 +1,16 @@
+package test.project.bookingapp.dto.payment;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import test.project.bookingapp.model.payment.PaymentStatus;
+
+public record PaymentExportRow(
+        Long id,
+        Long bookingId,
+        Long userId,
+        PaymentStatus status,
+        BigDecimal amount,
+        String sessionId,
+        Instant expiresAt
+) {
+}
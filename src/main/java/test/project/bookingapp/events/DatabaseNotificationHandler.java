@@ -0,0 +1,16 @@
+package test.project.bookingapp.events;
+
+/**
+ * Receives the payloads other nodes send with Postgres NOTIFY on one channel.
+ */
+public interface DatabaseNotificationHandler {
+    String channel();
+
+    void onNotification(String payload);
+
+    /**
+     * Brings local state back in line after the listener (re)connects, because
+     * notifications sent while it was disconnected are lost.
+     */
+    void resync();
+}
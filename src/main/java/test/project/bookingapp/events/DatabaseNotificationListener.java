@@ -0,0 +1,103 @@
+package test.project.bookingapp.events;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps one connection listening on the channels of every
+ * {@link DatabaseNotificationHandler}, such as cache invalidations and token revocations
+ * sent by other nodes. Handlers are resynchronised on every (re)connect. The connection
+ * is taken from the Hikari pool and held for as long as the listener runs, so the pool
+ * has one connection fewer for requests. Turned off with
+ * {@code database.notifications.listen=false}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "database.notifications.listen", havingValue = "true",
+        matchIfMissing = true)
+public class DatabaseNotificationListener {
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final Map<String, DatabaseNotificationHandler> handlers;
+    private volatile Thread worker;
+
+    public DatabaseNotificationListener(DataSource dataSource,
+                                        List<DatabaseNotificationHandler> handlers) {
+        this.dataSource = dataSource;
+        this.handlers = handlers.stream().collect(Collectors.toMap(
+                DatabaseNotificationHandler::channel, Function.identity()));
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::run, "database-notifications");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void run() {
+        while (worker != null) {
+            try {
+                listen();
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Database notification listener lost its connection", e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            for (String channel : handlers.keySet()) {
+                statement.execute("LISTEN " + channel);
+            }
+            handlers.values().forEach(DatabaseNotificationHandler::resync);
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            while (worker != null) {
+                PGNotification[] notifications =
+                        pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification);
+                    }
+                }
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        DatabaseNotificationHandler handler = handlers.get(notification.getName());
+        if (handler != null) {
+            handler.onNotification(notification.getParameter());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package test.project.bookingapp.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package test.project.bookingapp.exception;
+
+public class WebhookVerificationException extends RuntimeException {
+    public WebhookVerificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
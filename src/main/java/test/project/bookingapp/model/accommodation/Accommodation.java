@@ -1,31 +1,37 @@
 package test.project.bookingapp.model.accommodation;
 
-import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "accommodations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accommodations")
 public class Accommodation {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accommodation_seq")
     @SequenceGenerator(name = "accommodation_seq",
-            sequenceName = "accommodations_id_seq", allocationSize = 1)
+            sequenceName = "accommodations_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -38,15 +44,19 @@ public class Accommodation {
     @Column(nullable = false)
     private String size;
 
-    @ElementCollection
-    @CollectionTable(name = "accommodation_amenities",
-            joinColumns = @JoinColumn(name = "accommodation_id"))
-    @Column(name = "amenity")
-    private List<String> amenities;
+    // Stored inline as text[], so listings load in one statement and filter with @>
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(nullable = false, columnDefinition = "text[]")
+    private List<String> amenities = new ArrayList<>();
 
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal dailyRate;
 
     @Column(nullable = false)
     private Integer availability;
+
+    // Bumped on every update and used as the strong ETag of the accommodation view
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
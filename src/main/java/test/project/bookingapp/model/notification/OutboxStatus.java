@@ -0,0 +1,7 @@
+package test.project.bookingapp.model.notification;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,21 @@
+package test.project.bookingapp.model.payment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "processed_events")
+public class ProcessedEvent {
+    @Id
+    private String eventId;
+
+    @Column(nullable = false)
+    private Instant processedAt;
+}
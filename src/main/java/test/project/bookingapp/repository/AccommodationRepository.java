@@ -1,7 +1,92 @@
 package test.project.bookingapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import test.project.bookingapp.model.accommodation.Accommodation;
 
 public interface AccommodationRepository extends JpaRepository<Accommodation, Long> {
+    List<Accommodation> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Catalog-wide version, bumped by a trigger in the same transaction as any change to
+     * the accommodations table.
+     */
+    @Query(value = "SELECT version FROM accommodation_catalog", nativeQuery = true)
+    long findCatalogVersion();
+
+    @Query(value = "SELECT a.* FROM accommodations a "
+            + "WHERE a.availability > 0 "
+            + "AND (CAST(:type AS text) IS NULL OR a.type = CAST(:type AS text)) "
+            + "AND (CAST(:location AS text) IS NULL "
+            + "OR a.location ILIKE '%' || CAST(:location AS text) || '%') "
+            + "AND a.amenities @> CAST(:amenities AS text[]) "
+            + "AND NOT EXISTS (SELECT 1 FROM accommodation_inventory i "
+            + "WHERE i.accommodation_id = a.id "
+            + "AND i.day >= :checkIn AND i.day < :checkOut "
+            + "AND i.booked_count >= a.availability)",
+            nativeQuery = true)
+    Slice<Accommodation> findAvailable(@Param("checkIn") LocalDate checkIn,
+                                       @Param("checkOut") LocalDate checkOut,
+                                       @Param("type") String type,
+                                       @Param("location") String location,
+                                       @Param("amenities") String[] amenities,
+                                       Pageable pageable);
+
+    /**
+     * Whether every night of the stay still has a unit left, read from the inventory;
+     * empty when the accommodation does not exist.
+     */
+    @Query(value = "SELECT a.availability > 0 AND NOT EXISTS ("
+            + "SELECT 1 FROM accommodation_inventory i "
+            + "WHERE i.accommodation_id = a.id "
+            + "AND i.day >= :checkIn AND i.day < :checkOut "
+            + "AND i.booked_count >= a.availability) "
+            + "FROM accommodations a WHERE a.id = :accommodationId",
+            nativeQuery = true)
+    Optional<Boolean> hasRoom(@Param("accommodationId") Long accommodationId,
+                              @Param("checkIn") LocalDate checkIn,
+                              @Param("checkOut") LocalDate checkOut);
+
+    /**
+     * Takes one unit for every night of the stay, or none of the nights that are already
+     * sold out. Returns the number of nights taken; anything below the stay length means
+     * the stay does not fit and the transaction must roll back.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES,
+            value = "accommodation_inventory"))
+    @Query(value = "INSERT INTO accommodation_inventory (accommodation_id, day, booked_count) "
+            + "SELECT a.id, CAST(night AS date), 1 FROM accommodations a, "
+            + "generate_series(CAST(:checkIn AS date), CAST(:checkOut AS date) - 1, "
+            + "INTERVAL '1 day') night "
+            + "WHERE a.id = :accommodationId AND a.availability > 0 "
+            + "ON CONFLICT (accommodation_id, day) DO UPDATE "
+            + "SET booked_count = accommodation_inventory.booked_count + 1 "
+            + "WHERE accommodation_inventory.booked_count < "
+            + "(SELECT availability FROM accommodations WHERE id = :accommodationId)",
+            nativeQuery = true)
+    int reserveInventory(@Param("accommodationId") Long accommodationId,
+                         @Param("checkIn") LocalDate checkIn,
+                         @Param("checkOut") LocalDate checkOut);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES,
+            value = "accommodation_inventory"))
+    @Query(value = "UPDATE accommodation_inventory SET booked_count = booked_count - 1 "
+            + "WHERE accommodation_id = :accommodationId "
+            + "AND day >= :checkIn AND day < :checkOut AND booked_count > 0",
+            nativeQuery = true)
+    int releaseInventory(@Param("accommodationId") Long accommodationId,
+                         @Param("checkIn") LocalDate checkIn,
+                         @Param("checkOut") LocalDate checkOut);
 }
@@ -0,0 +1,19 @@
+package test.project.bookingapp.repository;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import test.project.bookingapp.model.notification.OutboxMessage;
+
+public interface NotificationOutboxRepository extends JpaRepository<OutboxMessage, Long> {
+    /**
+     * Locks up to {@code limit} pending messages that are due, skipping rows another
+     * dispatcher is already delivering.
+     */
+    @Query(value = "SELECT * FROM notification_outbox "
+            + "WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -1,18 +1,108 @@
 package test.project.bookingapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import test.project.bookingapp.dto.payment.PaymentExportRow;
+import test.project.bookingapp.dto.payment.PaymentResponseDto;
 import test.project.bookingapp.model.payment.Payment;
 import test.project.bookingapp.model.payment.PaymentStatus;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Page<Payment> findByBooking_User_Id(Long bookingUserId, Pageable pageable);
 
+    @Query(value = "SELECT new test.project.bookingapp.dto.payment.PaymentResponseDto("
+            + "p.id, p.booking.id, p.status, p.sessionUrl, p.amount) FROM Payment p",
+            countQuery = "SELECT COUNT(p) FROM Payment p")
+    Page<PaymentResponseDto> findAllResponses(Pageable pageable);
+
+    @Query(value = "SELECT new test.project.bookingapp.dto.payment.PaymentResponseDto("
+            + "p.id, b.id, p.status, p.sessionUrl, p.amount) "
+            + "FROM Payment p JOIN p.booking b WHERE b.user.id = :userId",
+            countQuery = "SELECT COUNT(p) FROM Payment p JOIN p.booking b "
+                    + "WHERE b.user.id = :userId")
+    Page<PaymentResponseDto> findResponsesByUserId(@Param("userId") Long userId,
+                                                   Pageable pageable);
+
+    /**
+     * Keyset slice of a user's payments, newest first, below the given id.
+     */
+    @Query("SELECT new test.project.bookingapp.dto.payment.PaymentResponseDto("
+            + "p.id, b.id, p.status, p.sessionUrl, p.amount) "
+            + "FROM Payment p JOIN p.booking b WHERE b.user.id = :userId AND p.id < :id "
+            + "ORDER BY p.id DESC")
+    List<PaymentResponseDto> findResponsesByUserIdBefore(@Param("userId") Long userId,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+
+    /**
+     * Keyset slice of all payments, newest first, below the given id.
+     */
+    @Query("SELECT new test.project.bookingapp.dto.payment.PaymentResponseDto("
+            + "p.id, p.booking.id, p.status, p.sessionUrl, p.amount) "
+            + "FROM Payment p WHERE p.id < :id ORDER BY p.id DESC")
+    List<PaymentResponseDto> findResponsesBefore(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Loads the payment with its booking and the booking's user, which the success
+     * notification reads after the transaction has committed.
+     */
+    @EntityGraph(attributePaths = "booking.user")
     Optional<Payment> findBySessionId(String sessionId);
 
+    /**
+     * Loads the payment with its booking and accommodation, needed to price a new session.
+     */
+    @EntityGraph(attributePaths = "booking.accommodation")
+    Optional<Payment> findWithBookingById(Long id);
+
+    /**
+     * Every payment as a flat row, read through a forward-only cursor. Must be consumed and
+     * closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new test.project.bookingapp.dto.payment.PaymentExportRow("
+            + "p.id, b.id, b.user.id, p.status, p.amount, p.sessionId, p.expiresAt) "
+            + "FROM Payment p JOIN p.booking b ORDER BY p.id")
+    Stream<PaymentExportRow> streamExportRows();
+
     boolean existsByBooking_User_IdAndStatus(Long userId, PaymentStatus status);
 
     Optional<Payment> findByBookingId(Long id);
+
+    /**
+     * Marks the payment as paid unless it already is. The webhook and the success redirect
+     * can settle the same payment at once, and only one of them sees a changed row.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = "
+            + "test.project.bookingapp.model.payment.PaymentStatus.PAID "
+            + "WHERE p.id = :id "
+            + "AND p.status <> test.project.bookingapp.model.payment.PaymentStatus.PAID")
+    int markPaid(@Param("id") Long id);
+
+    /**
+     * Expires up to {@code limit} pending payments whose session ran out before {@code now},
+     * in a transaction of its own. Rows locked by a concurrent payment update are skipped.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "payments"))
+    @Query(value = "UPDATE payments SET status = 'EXPIRED' WHERE id IN ("
+            + "SELECT id FROM payments WHERE status = 'PENDING' AND expires_at < :now "
+            + "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int expirePendingPayments(@Param("now") Instant now, @Param("limit") int limit);
 }
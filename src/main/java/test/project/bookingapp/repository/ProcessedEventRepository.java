@@ -0,0 +1,22 @@
+package test.project.bookingapp.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import test.project.bookingapp.model.payment.ProcessedEvent;
+
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+    /**
+     * Records the event id, returning 0 when it has been recorded before. A concurrent
+     * redelivery waits for the first transaction and then sees the row.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "processed_events"))
+    @Query(value = "INSERT INTO processed_events (event_id, processed_at) "
+            + "VALUES (:eventId, now()) ON CONFLICT (event_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId);
+}
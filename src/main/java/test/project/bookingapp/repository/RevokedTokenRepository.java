@@ -0,0 +1,54 @@
+package test.project.bookingapp.repository;
+
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import test.project.bookingapp.model.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revoked_tokens"))
+    @Query(value = "INSERT INTO revoked_tokens (token_id, expires_at, revoked_at) "
+            + "VALUES (:tokenId, :expiresAt, now()) ON CONFLICT (token_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Stores a cutoff in revoked_at, keeping the later one when a row already exists.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revoked_tokens"))
+    @Query(value = "INSERT INTO revoked_tokens (token_id, expires_at, revoked_at) "
+            + "VALUES (:tokenId, :expiresAt, :cutoff) ON CONFLICT (token_id) DO UPDATE "
+            + "SET expires_at = GREATEST(revoked_tokens.expires_at, EXCLUDED.expires_at), "
+            + "revoked_at = GREATEST(revoked_tokens.revoked_at, EXCLUDED.revoked_at)",
+            nativeQuery = true)
+    int upsertCutoff(@Param("tokenId") String tokenId, @Param("expiresAt") Instant expiresAt,
+                     @Param("cutoff") Instant cutoff);
+
+    @Query("SELECT t.tokenId FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<String> findActiveTokenIds(@Param("now") Instant now);
+
+    @Query("SELECT t FROM RevokedToken t "
+            + "WHERE t.tokenId LIKE CONCAT(:prefix, '%') AND t.expiresAt > :now")
+    List<RevokedToken> findActiveByTokenIdPrefix(@Param("prefix") String prefix,
+                                                 @Param("now") Instant now);
+
+    @Query("SELECT t.tokenId FROM RevokedToken t WHERE t.revokedAt >= :since")
+    List<String> findTokenIdsRevokedSince(@Param("since") Instant since);
+
+    /**
+     * Expired tokens are rejected by their signature check alone and no longer need a row.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,31 +1,118 @@
 package test.project.bookingapp.repository.booking;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import test.project.bookingapp.dto.bookingdtos.BookingExportRow;
+import test.project.bookingapp.dto.bookingdtos.BookingResponseDto;
 import test.project.bookingapp.model.booking.Booking;
 import test.project.bookingapp.model.booking.BookingStatus;
+import test.project.bookingapp.service.availability.BookedStay;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>,
+        JpaSpecificationExecutor<Booking>, BookingResponseRepository {
     Page<Booking> findByUserId(Long userId, Pageable pageable);
 
+    @Query(value = "SELECT new test.project.bookingapp.dto.bookingdtos.BookingResponseDto("
+            + "b.id, b.checkInDate, b.checkOutDate, b.accommodation.id, b.user.id, b.status) "
+            + "FROM Booking b WHERE b.user.id = :userId",
+            countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId")
+    Page<BookingResponseDto> findResponsesByUserId(@Param("userId") Long userId,
+                                                   Pageable pageable);
+
+    /**
+     * Keyset slice of a user's bookings, newest check-in first, after the given
+     * (check-in date, id) position. Served by idx_bookings_user_check_in_id.
+     */
+    @Query("SELECT new test.project.bookingapp.dto.bookingdtos.BookingResponseDto("
+            + "b.id, b.checkInDate, b.checkOutDate, b.accommodation.id, b.user.id, b.status) "
+            + "FROM Booking b WHERE b.user.id = :userId "
+            + "AND b.checkInDate <= :checkInDate "
+            + "AND (b.checkInDate < :checkInDate OR b.id < :id) "
+            + "ORDER BY b.checkInDate DESC, b.id DESC")
+    List<BookingResponseDto> findByUserIdBefore(@Param("userId") Long userId,
+                                                @Param("checkInDate") LocalDate checkInDate,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    @Query("SELECT b.accommodation.id FROM Booking b WHERE b.id = :id")
+    Optional<Long> findAccommodationIdById(@Param("id") Long id);
+
+    /**
+     * Re-reads a booking with its row locked until the transaction ends. Callers take the
+     * accommodation lock first, in the same order as the expiry job.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Loads bookings together with their accommodation and user, for callers that read
+     * them outside the transaction (e.g. expiry notifications).
+     */
+    @EntityGraph(attributePaths = {"accommodation", "user"})
+    List<Booking> findWithAccommodationAndUserByIdIn(Collection<Long> ids);
+
     Page<Booking> findByUserIdAndStatus(Long userId, BookingStatus status, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.accommodation.id = :accommodationId "
-            + "AND b.status <> 'CANCELED' "
-            + "AND (:checkIn BETWEEN b.checkInDate AND b.checkOutDate "
-            + "OR :checkOut BETWEEN b.checkInDate AND b.checkOutDate "
-            + "OR (b.checkInDate BETWEEN :checkIn AND :checkOut))")
-    List<Booking> findOverlappingBookings(@Param("accommodationId") Long accommodationId,
-                                          @Param("checkIn") LocalDate checkIn,
-                                          @Param("checkOut") LocalDate checkOut);
+    /**
+     * Every booking as a flat row, read through a forward-only cursor. Must be consumed and
+     * closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new test.project.bookingapp.dto.bookingdtos.BookingExportRow("
+            + "b.id, b.user.id, b.accommodation.id, b.checkInDate, b.checkOutDate, b.status) "
+            + "FROM Booking b ORDER BY b.id")
+    Stream<BookingExportRow> streamExportRows();
 
     Page<Booking> findAll(Specification<Booking> spec, Pageable pageable);
 
-    List<Booking> findByCheckOutDateBeforeAndStatusNot(LocalDate returnDate, BookingStatus status);
+    @Query("SELECT new test.project.bookingapp.service.availability.BookedStay("
+            + "b.id, b.accommodation.id, b.checkInDate, b.checkOutDate) "
+            + "FROM Booking b WHERE b.status IN :statuses AND b.checkOutDate < :threshold")
+    List<BookedStay> findStaysToExpire(@Param("threshold") LocalDate threshold,
+                                       @Param("statuses") Collection<BookingStatus> statuses,
+                                       Pageable pageable);
+
+    /**
+     * Moves a booking to the given status only while it is in one of the allowed ones.
+     * Returns the number of rows changed; zero means another transition got there first.
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id = :id AND b.status IN :allowed")
+    int updateStatus(@Param("id") Long id,
+                     @Param("status") BookingStatus status,
+                     @Param("allowed") Collection<BookingStatus> allowed);
+
+    /**
+     * Expires the given bookings that are still active and restricted to the given
+     * accommodations, returning the ids that were actually updated. {@code @Modifying} only
+     * returns a row count, so the statement runs as a query; declaring bookings as its
+     * query space makes Hibernate flush pending booking changes before it. Bookings are not
+     * in the second-level cache, and callers load the expired rows afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings"))
+    @Query(value = "UPDATE bookings SET status = 'EXPIRED' "
+            + "WHERE id IN (:ids) AND accommodation_id IN (:accommodationIds) "
+            + "AND status IN ('PENDING', 'CONFIRMED') AND check_out_date < :threshold "
+            + "RETURNING id", nativeQuery = true)
+    List<Long> expireBookings(@Param("ids") Collection<Long> ids,
+                              @Param("accommodationIds") Collection<Long> accommodationIds,
+                              @Param("threshold") LocalDate threshold);
 }
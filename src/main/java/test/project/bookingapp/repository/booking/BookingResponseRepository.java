@@ -0,0 +1,19 @@
+package test.project.bookingapp.repository.booking;
+
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import test.project.bookingapp.dto.bookingdtos.BookingResponseDto;
+import test.project.bookingapp.model.booking.Booking;
+
+/**
+ * Specification queries that select {@link BookingResponseDto} rows directly instead of
+ * loading managed entities.
+ */
+public interface BookingResponseRepository {
+    Page<BookingResponseDto> findResponses(Specification<Booking> spec, Pageable pageable);
+
+    List<BookingResponseDto> findResponses(Specification<Booking> spec, Sort sort, int limit);
+}
@@ -0,0 +1,76 @@
+package test.project.bookingapp.repository.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import test.project.bookingapp.dto.bookingdtos.BookingResponseDto;
+import test.project.bookingapp.model.booking.Booking;
+
+@RequiredArgsConstructor
+public class BookingResponseRepositoryImpl implements BookingResponseRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<BookingResponseDto> findResponses(Specification<Booking> spec,
+                                                  Pageable pageable) {
+        TypedQuery<BookingResponseDto> query = responseQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+                () -> count(spec));
+    }
+
+    @Override
+    public List<BookingResponseDto> findResponses(Specification<Booking> spec, Sort sort,
+                                                  int limit) {
+        return responseQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<BookingResponseDto> responseQuery(Specification<Booking> spec,
+                                                         Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponseDto> query =
+                criteriaBuilder.createQuery(BookingResponseDto.class);
+        Root<Booking> root = query.from(Booking.class);
+        query.select(criteriaBuilder.construct(BookingResponseDto.class,
+                root.get("id"),
+                root.get("checkInDate"),
+                root.get("checkOutDate"),
+                root.get("accommodation").get("id"),
+                root.get("user").get("id"),
+                root.get("status")));
+        where(query, root, criteriaBuilder, spec);
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Booking> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Booking> root = query.from(Booking.class);
+        query.select(criteriaBuilder.count(root));
+        where(query, root, criteriaBuilder, spec);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void where(CriteriaQuery<?> query, Root<Booking> root,
+                       CriteriaBuilder criteriaBuilder, Specification<Booking> spec) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
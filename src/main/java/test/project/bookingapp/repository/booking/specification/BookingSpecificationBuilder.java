@@ -1,5 +1,6 @@
 package test.project.bookingapp.repository.booking.specification;
 
+import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -33,4 +34,16 @@ public class BookingSpecificationBuilder implements SpecificationBuilder<Booking
         }
         return spec;
     }
+
+    /**
+     * Keyset condition for bookings after (checkInDate, id) in newest-first order. The
+     * leading range on check_in_date lets idx_bookings_check_in_id seek to the position.
+     */
+    public static Specification<Booking> checkedInBefore(LocalDate checkInDate, Long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(root.get("checkInDate"), checkInDate),
+                criteriaBuilder.or(
+                        criteriaBuilder.lessThan(root.get("checkInDate"), checkInDate),
+                        criteriaBuilder.lessThan(root.get("id"), id)));
+    }
 }
@@ -2,21 +2,39 @@ package test.project.bookingapp.security;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import test.project.bookingapp.exception.EntityNotFoundException;
+import test.project.bookingapp.model.User;
 import test.project.bookingapp.repository.UserRepository;
 
 @RequiredArgsConstructor
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
-        return userRepository.findByEmail(email).orElseThrow(() ->
-                new EntityNotFoundException("Can't find user by email:" + email));
+        return userDetailsCache.get(email, key -> userRepository.findByEmail(key).orElseThrow(
+                () -> new EntityNotFoundException("Can't find user by email:" + key)));
+    }
+
+    /**
+     * Called by the authentication provider after a successful login when the stored hash
+     * was made with a different work factor than the current encoder uses.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(() ->
+                new EntityNotFoundException("Can't find user by email:"
+                        + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(updatedUser.getEmail());
+        return updatedUser;
     }
 }
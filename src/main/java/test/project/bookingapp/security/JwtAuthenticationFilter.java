@@ -1,5 +1,6 @@
 package test.project.bookingapp.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -7,6 +8,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,6 +19,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import test.project.bookingapp.model.User;
+import test.project.bookingapp.model.role.Role;
+import test.project.bookingapp.model.role.RoleName;
 import test.project.bookingapp.utils.JwtUtils;
 
 @RequiredArgsConstructor
@@ -24,6 +30,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(
@@ -34,11 +41,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = getToken(request);
 
-            if (token != null && jwtUtils.isValidToken(token)) {
-                String username = jwtUtils.getUsername(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (token != null) {
+                Claims claims = jwtUtils.parseClaims(token);
+                if (isRevoked(claims)) {
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.getWriter().write("{\"error\": \"Token has been revoked\"}");
+                    return;
+                }
+                UserDetails userDetails = toPrincipal(claims);
+                // The verified claims serve as credentials, e.g. for logout
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
+                        userDetails, claims, userDetails.getAuthorities()
                 );
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
@@ -52,6 +65,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Checks the token itself and, for tokens that carry the user id, whether all of the
+     * user's tokens were revoked since it was issued, e.g. because their roles changed.
+     */
+    private boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && tokenRevocationService.isRevoked(claims.getId())) {
+            return true;
+        }
+        Number userId = claims.get(JwtUtils.USER_ID_CLAIM, Number.class);
+        return userId != null && tokenRevocationService.isRevoked(userId.longValue(),
+                claims.getIssuedAt().toInstant());
+    }
+
+    /**
+     * Builds the principal from the verified claims. Tokens issued before the id and roles
+     * were embedded fall back to a user lookup until they expire.
+     */
+    private UserDetails toPrincipal(Claims claims) {
+        Number userId = claims.get(JwtUtils.USER_ID_CLAIM, Number.class);
+        List<?> roleNames = claims.get(JwtUtils.ROLES_CLAIM, List.class);
+        if (userId == null || roleNames == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        User user = new User();
+        user.setId(userId.longValue());
+        user.setEmail(claims.getSubject());
+        user.setRoles(roleNames.stream()
+                .map(roleName -> new Role(null, RoleName.valueOf(roleName.toString())))
+                .collect(Collectors.toSet()));
+        return user;
+    }
+
     private String getToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (bearerToken != null && bearerToken.startsWith(BEARER_PREFIX)) {
@@ -0,0 +1,66 @@
+package test.project.bookingapp.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import test.project.bookingapp.exception.ServiceUnavailableException;
+
+/**
+ * Runs login and registration, which are dominated by BCrypt, on a small pool of their own
+ * so that a login storm cannot take over the request threads. When the pool and its queue
+ * are full the work is rejected right away with a retry hint instead of queueing further.
+ */
+@Component
+public class PasswordHashingExecutor {
+    private final ExecutorService executor;
+    private final Duration retryAfter;
+    private final Counter rejections;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${security.password-hashing.threads:2}")
+                                   int threads,
+                                   @Value("${security.password-hashing.queue-capacity:50}")
+                                   int queueCapacity,
+                                   @Value("${security.password-hashing.retry-after:PT1S}")
+                                   Duration retryAfter) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task,
+                            "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+        this.retryAfter = retryAfter;
+        this.rejections = meterRegistry.counter("password.hashing.rejected");
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ServiceUnavailableException(
+                    "Too many login attempts in progress, please retry later", retryAfter);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,156 @@
+package test.project.bookingapp.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import test.project.bookingapp.events.DatabaseNotificationHandler;
+import test.project.bookingapp.model.RevokedToken;
+import test.project.bookingapp.repository.RevokedTokenRepository;
+import test.project.bookingapp.utils.TransactionUtils;
+
+/**
+ * Revoked token ids live in the revoked_tokens table and are mirrored into an in-memory
+ * Bloom filter, so a token that was never revoked is accepted without any I/O. Only filter
+ * hits are checked against the table. Revocations reach other nodes over Postgres NOTIFY,
+ * and the filter is rebuilt periodically to drop expired entries.
+ *
+ * <p>All tokens of a user can be revoked at once, e.g. when their roles change. That is
+ * stored as a row keyed {@code user:<id>} whose revoked_at is the cutoff, and every node
+ * keeps the cutoffs of the last {@code jwt.max-age} in memory.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService implements DatabaseNotificationHandler {
+    static final String REVOCATION_CHANNEL = "token_revocation";
+    static final String USER_KEY_PREFIX = "user:";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Covers revocations that commit while a rebuild is reading the table
+    private static final Duration CATCH_UP_WINDOW = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int minCapacity;
+    private final Duration maxAge;
+    private final Counter databaseChecks;
+    private final Map<Long, Instant> userCutoffs = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                  @Value("${security.token-revocation.min-capacity:10000}")
+                                  int minCapacity,
+                                  @Value("${jwt.max-age:PT24H}") Duration maxAge) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.minCapacity = minCapacity;
+        this.maxAge = maxAge;
+        this.databaseChecks = meterRegistry.counter("token.revocation.database.checks");
+        this.filter = new BloomFilter(minCapacity, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        databaseChecks.increment();
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * Whether the user's tokens issued at the given time were revoked together.
+     */
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        Instant cutoff = userCutoffs.get(userId);
+        return cutoff != null && issuedAt.isBefore(cutoff);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        revokedTokenRepository.insertIfAbsent(tokenId, expiresAt);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", REVOCATION_CHANNEL, tokenId);
+        // After commit, so that a concurrent rebuild either sees the row or gets this add
+        TransactionUtils.runAfterCommit(() -> addLocal(tokenId));
+    }
+
+    /**
+     * Revokes every token issued to the user so far. Token issue times only have second
+     * precision, so tokens issued later in the same second are revoked as well.
+     */
+    @Transactional
+    public void revokeAllFor(Long userId) {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        String key = USER_KEY_PREFIX + userId;
+        // The row may expire once every token it revokes has expired on its own
+        revokedTokenRepository.upsertCutoff(key, cutoff.plus(maxAge), cutoff);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", REVOCATION_CHANNEL, key);
+        TransactionUtils.runAfterCommit(() -> addCutoff(userId, cutoff));
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${security.token-revocation.rebuild-interval:PT10M}",
+            initialDelayString = "${security.token-revocation.rebuild-interval:PT10M}")
+    public void rebuild() {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+        List<String> activeTokenIds = revokedTokenRepository.findActiveTokenIds(now);
+
+        BloomFilter rebuilt = new BloomFilter(
+                Math.max(minCapacity, activeTokenIds.size() * 2), FALSE_POSITIVE_RATE);
+        activeTokenIds.forEach(rebuilt::add);
+        filter = rebuilt;
+        revokedTokenRepository.findTokenIdsRevokedSince(now.minus(CATCH_UP_WINDOW))
+                .forEach(rebuilt::add);
+
+        // Cutoffs only ever move forward, so merging cannot lose a concurrent revocation
+        revokedTokenRepository.findActiveByTokenIdPrefix(USER_KEY_PREFIX, now)
+                .forEach(this::addCutoff);
+        userCutoffs.values().removeIf(cutoff -> !cutoff.plus(maxAge).isAfter(now));
+        log.debug("Rebuilt token revocation filter with {} entries", activeTokenIds.size());
+    }
+
+    @Override
+    public String channel() {
+        return REVOCATION_CHANNEL;
+    }
+
+    @Override
+    public void onNotification(String tokenId) {
+        if (tokenId.startsWith(USER_KEY_PREFIX)) {
+            revokedTokenRepository.findById(tokenId).ifPresent(this::addCutoff);
+            return;
+        }
+        addLocal(tokenId);
+    }
+
+    @Override
+    public void resync() {
+        rebuild();
+    }
+
+    void addLocal(String tokenId) {
+        filter.add(tokenId);
+    }
+
+    private void addCutoff(RevokedToken row) {
+        addCutoff(Long.valueOf(row.getTokenId().substring(USER_KEY_PREFIX.length())),
+                row.getRevokedAt());
+    }
+
+    private void addCutoff(Long userId, Instant cutoff) {
+        userCutoffs.merge(userId, cutoff, (current, next) -> next.isAfter(current)
+                ? next
+                : current);
+    }
+}
@@ -0,0 +1,113 @@
+package test.project.bookingapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import test.project.bookingapp.events.DatabaseNotificationHandler;
+import test.project.bookingapp.events.DatabaseNotificationListener;
+import test.project.bookingapp.model.User;
+import test.project.bookingapp.model.role.Role;
+import test.project.bookingapp.model.role.RoleName;
+import test.project.bookingapp.utils.TransactionUtils;
+
+/**
+ * Bounded cache of users keyed by email. Only an immutable snapshot of the fields needed to
+ * authenticate is kept, and every read gets its own {@link User} built from it, so no
+ * request can change what the next one sees. Invalidations are broadcast to the other nodes
+ * over Postgres NOTIFY and picked up by {@link DatabaseNotificationListener}, which also
+ * drop their second-level cache of user roles.
+ */
+@Component
+public class UserDetailsCache implements DatabaseNotificationHandler {
+    static final String INVALIDATION_CHANNEL = "user_cache_invalidation";
+    static final String ROLES_COLLECTION = User.class.getName() + ".roles";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Cache<String, CachedUser> cache;
+
+    public UserDetailsCache(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                            MeterRegistry meterRegistry,
+                            @Value("${security.user-cache.max-size:10000}") long maxSize,
+                            @Value("${security.user-cache.ttl:PT5M}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public User get(String email, Function<String, User> loader) {
+        return cache.get(email, key -> CachedUser.of(loader.apply(key))).toUser();
+    }
+
+    /**
+     * Evicts the users on this node right away and again after the surrounding transaction
+     * commits, so a concurrent load cannot put back the old state. Other nodes are notified
+     * on commit.
+     */
+    public void invalidate(String... emails) {
+        for (String email : emails) {
+            cache.invalidate(email);
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", INVALIDATION_CHANNEL, email);
+            TransactionUtils.runAfterCommit(() -> cache.invalidate(email));
+        }
+    }
+
+    @Override
+    public String channel() {
+        return INVALIDATION_CHANNEL;
+    }
+
+    @Override
+    public void onNotification(String email) {
+        cache.invalidate(email);
+        // The payload has no user id, and role changes are rare enough to drop them all
+        evictCachedRoles();
+    }
+
+    @Override
+    public void resync() {
+        cache.invalidateAll();
+        evictCachedRoles();
+    }
+
+    private void evictCachedRoles() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictCollectionData(ROLES_COLLECTION);
+    }
+
+    private record CachedUser(Long id, String email, String passwordHash,
+                              Set<RoleName> roles) {
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getPassword(),
+                    user.getRoles().stream()
+                            .map(Role::getName)
+                            .collect(Collectors.toUnmodifiableSet()));
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setEmail(email);
+            user.setPassword(passwordHash);
+            user.setRoles(roles.stream()
+                    .map(roleName -> new Role(null, roleName))
+                    .collect(Collectors.toSet()));
+            return user;
+        }
+    }
+}
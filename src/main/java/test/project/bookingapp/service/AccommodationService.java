@@ -1,18 +1,30 @@
 package test.project.bookingapp.service;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.jmx.export.notification.UnableToSendNotificationException;
 import org.springframework.stereotype.Service;
+import test.project.bookingapp.dto.CursorPage;
+import test.project.bookingapp.dto.accommodationdtos.AccommodationAvailabilityDto;
 import test.project.bookingapp.dto.accommodationdtos.AccommodationRequestDto;
 import test.project.bookingapp.dto.accommodationdtos.AccommodationResponseDto;
+import test.project.bookingapp.dto.accommodationdtos.AccommodationSearchParametersDto;
 import test.project.bookingapp.events.BookingNotificationEvent;
+import test.project.bookingapp.exception.BookingDataException;
 import test.project.bookingapp.exception.EntityNotFoundException;
 import test.project.bookingapp.mapper.AccommodationMapper;
 import test.project.bookingapp.model.accommodation.Accommodation;
 import test.project.bookingapp.repository.AccommodationRepository;
+import test.project.bookingapp.service.catalog.AccommodationCatalogCache;
+import test.project.bookingapp.service.catalog.Versioned;
+import test.project.bookingapp.utils.KeysetCursor;
 
 @RequiredArgsConstructor
 @Service
@@ -20,10 +32,12 @@ public class AccommodationService {
     private final AccommodationRepository accommodationRepository;
     private final AccommodationMapper accommodationMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final AccommodationCatalogCache accommodationCatalogCache;
 
     public AccommodationResponseDto createAccommodation(AccommodationRequestDto request) {
         Accommodation accommodation = accommodationMapper.toEntity(request);
         Accommodation savedAccommodation = accommodationRepository.save(accommodation);
+        accommodationCatalogCache.invalidate(savedAccommodation.getId());
 
         try {
             eventPublisher.publishEvent(
@@ -39,29 +53,105 @@ public class AccommodationService {
         return accommodationMapper.toDto(savedAccommodation);
     }
 
-    public Page<AccommodationResponseDto> getAllAccommodations(Pageable pageable) {
-        return accommodationRepository.findAll(pageable)
+    public Versioned<Page<AccommodationResponseDto>> getAllAccommodations(Pageable pageable) {
+        return accommodationCatalogCache.getPage(pageable, key -> {
+            // Read before the page, so a concurrent change can only make the version older
+            // than the content, which costs a client one extra download but never a stale 304
+            long version = accommodationRepository.findCatalogVersion();
+            return new Versioned<>(version,
+                    accommodationRepository.findAll(key).map(accommodationMapper::toDto));
+        });
+    }
+
+    public CursorPage<AccommodationResponseDto> scrollAccommodations(String cursor, int size) {
+        int limit = CursorPage.limit(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Accommodation> rows = accommodationRepository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? 0L : after.id(), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, accommodation -> KeysetCursor.ofId(accommodation.getId()),
+                accommodationMapper::toDto);
+    }
+
+    public Slice<AccommodationResponseDto> searchAvailableAccommodations(
+            AccommodationSearchParametersDto searchParams, Pageable pageable) {
+        if (searchParams.checkIn() == null || searchParams.checkOut() == null) {
+            throw new BookingDataException("Check-in and check-out dates are required.");
+        }
+        if (!searchParams.checkOut().isAfter(searchParams.checkIn())) {
+            throw new BookingDataException("Check-out date must be after check-in date.");
+        }
+        String type = searchParams.type() == null ? null : searchParams.type().name();
+        String location = searchParams.location() == null || searchParams.location().isBlank()
+                ? null
+                : searchParams.location().strip();
+        String[] amenities = searchParams.amenities() == null
+                ? new String[0]
+                : searchParams.amenities().stream()
+                        .filter(amenity -> amenity != null && !amenity.isBlank())
+                        .map(String::strip)
+                        .toArray(String[]::new);
+        return accommodationRepository.findAvailable(searchParams.checkIn(),
+                        searchParams.checkOut(), type, location, amenities, pageable)
                 .map(accommodationMapper::toDto);
     }
 
-    public AccommodationResponseDto getAccommodationById(Long id) {
-        Accommodation accommodation = findAccommodationById(id);
-        return accommodationMapper.toDto(accommodation);
+    public Versioned<AccommodationResponseDto> getAccommodationById(Long id) {
+        return accommodationCatalogCache.get(id, key -> {
+            Accommodation accommodation = loadAccommodation(key);
+            return new Versioned<>(accommodation.getVersion(),
+                    accommodationMapper.toDto(accommodation));
+        });
+    }
+
+    public AccommodationAvailabilityDto checkAvailability(Long id, LocalDate checkIn,
+                                                          LocalDate checkOut) {
+        if (!checkOut.isAfter(checkIn)) {
+            throw new BookingDataException("Check-out date must be after check-in date.");
+        }
+        return new AccommodationAvailabilityDto(id, checkIn, checkOut,
+                hasRoom(id, checkIn, checkOut));
+    }
+
+    public boolean hasRoom(Long id, LocalDate checkIn, LocalDate checkOut) {
+        return accommodationRepository.hasRoom(id, checkIn, checkOut)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Accommodation not found with id: " + id));
+    }
+
+    public boolean reserveInventory(Long id, LocalDate checkIn, LocalDate checkOut) {
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        return accommodationRepository.reserveInventory(id, checkIn, checkOut) == nights;
+    }
+
+    public void releaseInventory(Long id, LocalDate checkIn, LocalDate checkOut) {
+        accommodationRepository.releaseInventory(id, checkIn, checkOut);
     }
 
     public AccommodationResponseDto updateAccommodation(Long id, AccommodationRequestDto request) {
-        Accommodation accommodation = findAccommodationById(id);
+        Accommodation accommodation = loadAccommodation(id);
         accommodationMapper.updateEntity(accommodation, request);
         Accommodation updatedAccommodation = accommodationRepository.save(accommodation);
+        accommodationCatalogCache.invalidate(id);
         return accommodationMapper.toDto(updatedAccommodation);
     }
 
     public void deleteAccommodation(Long id) {
-        Accommodation accommodation = findAccommodationById(id);
+        Accommodation accommodation = loadAccommodation(id);
         accommodationRepository.delete(accommodation);
+        accommodationCatalogCache.invalidate(id);
+    }
+
+    /**
+     * Uninitialized reference for associating bookings with an existing accommodation.
+     */
+    public Accommodation getReference(Long id) {
+        if (!accommodationRepository.existsById(id)) {
+            throw new EntityNotFoundException("Accommodation not found with id: " + id);
+        }
+        return accommodationRepository.getReferenceById(id);
     }
 
-    public Accommodation findAccommodationById(Long id) {
+    private Accommodation loadAccommodation(Long id) {
         return accommodationRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Accommodation not found with id: " + id));
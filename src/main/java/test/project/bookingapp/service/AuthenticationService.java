@@ -1,5 +1,6 @@
 package test.project.bookingapp.service;
 
+import java.time.Instant;
 import test.project.bookingapp.dto.userdtos.UserLoginRequestDto;
 import test.project.bookingapp.dto.userdtos.UserLoginResponseDto;
 import test.project.bookingapp.dto.userdtos.UserRegistrationRequestDto;
@@ -24,4 +25,6 @@ public interface AuthenticationService {
     User findUserById(Long id);
 
     User findUserByUsername(String username);
+
+    void logout(String tokenId, Instant expiresAt);
 }
@@ -1,20 +1,28 @@
 package test.project.bookingapp.service;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.jmx.export.notification.UnableToSendNotificationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import test.project.bookingapp.dto.CursorPage;
 import test.project.bookingapp.dto.bookingdtos.BookingRequestDto;
 import test.project.bookingapp.dto.bookingdtos.BookingResponseDto;
 import test.project.bookingapp.dto.bookingdtos.BookingSearchParametersDto;
 import test.project.bookingapp.events.BookingNotificationEvent;
 import test.project.bookingapp.exception.BookingConflictException;
+import test.project.bookingapp.exception.BookingDataException;
 import test.project.bookingapp.exception.EntityNotFoundException;
 import test.project.bookingapp.exception.InvalidStatusException;
 import test.project.bookingapp.mapper.BookingMapper;
@@ -28,12 +36,24 @@ import test.project.bookingapp.model.role.RoleName;
 import test.project.bookingapp.repository.PaymentRepository;
 import test.project.bookingapp.repository.booking.BookingRepository;
 import test.project.bookingapp.repository.booking.specification.BookingSpecificationBuilder;
+import test.project.bookingapp.service.availability.BookedStay;
 import test.project.bookingapp.service.impl.JwtAuthenticationService;
+import test.project.bookingapp.service.lock.AccommodationLockManager;
+import test.project.bookingapp.utils.KeysetCursor;
 
 @RequiredArgsConstructor
 @Transactional
 @Service
 public class BookingService {
+    private static final int EXPIRY_BATCH_SIZE = 500;
+    // Keyset start for newest-first listings; later than any check-in date
+    private static final LocalDate KEYSET_FIRST_CHECK_IN = LocalDate.of(9999, 12, 31);
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "checkInDate", "id");
+    private static final List<BookingStatus> ACTIVE_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+    private static final List<BookingStatus> CANCELABLE_STATUSES = List.of(
+            BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.EXPIRED);
+
     private final BookingRepository bookingRepository;
     private final JwtAuthenticationService jwtAuthenticationService;
     private final AccommodationService accommodationService;
@@ -41,6 +61,7 @@ public class BookingService {
     private final BookingSpecificationBuilder bookingSpecificationBuilder;
     private final ApplicationEventPublisher eventPublisher;
     private final PaymentRepository paymentRepository;
+    private final AccommodationLockManager accommodationLockManager;
 
     public BookingResponseDto createBooking(Long userId, BookingRequestDto request) {
         if (hasPendingPayments(userId)) {
@@ -49,14 +70,16 @@ public class BookingService {
                             + "your previous payment is not completed.");
         }
 
-        Accommodation accommodation =
-                accommodationService.findAccommodationById(request.accommodationId());
-        validateAvailability(accommodation.getId(), request.checkInDate(), request.checkOutDate());
+        validateDates(request.checkInDate(), request.checkOutDate());
+        Long accommodationId = request.accommodationId();
+        accommodationLockManager.lockForTransaction(accommodationId);
+        Accommodation accommodation = accommodationService.getReference(accommodationId);
 
         User user = jwtAuthenticationService.findUserById(userId);
         Booking booking = bookingMapper.toBookingEntity(request, user, accommodation,
                 BookingStatus.PENDING);
         booking = bookingRepository.save(booking);
+        recordTransition(null, activeStay(booking));
 
         try {
             eventPublisher.publishEvent(
@@ -75,49 +98,72 @@ public class BookingService {
         return bookingMapper.toBookingResponseDto(booking);
     }
 
+    @Transactional(readOnly = true)
     public Page<BookingResponseDto> getBookingsByUserAndStatus(
             BookingSearchParametersDto searchParams,
             Pageable pageable) {
         Specification<Booking> spec = bookingSpecificationBuilder.build(searchParams);
-        return bookingRepository.findAll(spec, pageable)
-                .map(bookingMapper::toBookingResponseDto);
+        return bookingRepository.findResponses(spec, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<BookingResponseDto> getMyBookings(Long userId, Pageable pageable) {
-        return bookingRepository.findByUserId(userId, pageable)
-                .map(bookingMapper::toBookingResponseDto);
+        return bookingRepository.findResponsesByUserId(userId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookingResponseDto> scrollBookingsByUserAndStatus(
+            BookingSearchParametersDto searchParams, String cursor, int size) {
+        int limit = CursorPage.limit(size);
+        Specification<Booking> spec = bookingSpecificationBuilder.build(searchParams)
+                .and(checkedInBefore(KeysetCursor.decode(cursor)));
+        List<BookingResponseDto> rows = bookingRepository.findResponses(spec, KEYSET_SORT,
+                limit + 1);
+        return CursorPage.of(rows, limit, this::keysetOf, Function.identity());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookingResponseDto> scrollMyBookings(Long userId, String cursor,
+                                                           int size) {
+        int limit = CursorPage.limit(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<BookingResponseDto> rows = bookingRepository.findByUserIdBefore(userId,
+                after == null ? KEYSET_FIRST_CHECK_IN : after.sortKeyAsDate(),
+                after == null ? Long.MAX_VALUE : after.id(),
+                PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, this::keysetOf, Function.identity());
     }
 
     public BookingResponseDto updateBooking(Long id, BookingRequestDto request) {
-        Booking booking = findBookingById(id);
+        Booking booking = lockBooking(id, request.accommodationId());
 
         if (booking.getStatus() == BookingStatus.CANCELED) {
             throw new InvalidStatusException(
                     "Cannot update a canceled booking with id: " + id);
         }
-        validateAvailability(request.accommodationId(), request.checkInDate(),
-                request.checkOutDate());
-
         Accommodation newAccommodation =
-                accommodationService.findAccommodationById(request.accommodationId());
-        booking.setAccommodation(newAccommodation);
+                accommodationService.getReference(request.accommodationId());
+        validateDates(request.checkInDate(), request.checkOutDate());
+        BookedStay previousStay = activeStay(booking);
 
+        booking.setAccommodation(newAccommodation);
         bookingMapper.updateBookingEntity(booking, request);
         Booking updatedBooking = bookingRepository.save(booking);
+        recordTransition(previousStay, activeStay(updatedBooking));
         return bookingMapper.toBookingResponseDto(updatedBooking);
     }
 
     public void cancelBooking(Long userId, Long id) {
-        Booking booking = findBookingById(id);
+        Booking booking = lockBooking(id);
 
         validateAccess(userId, booking);
-        if (booking.getStatus() == BookingStatus.CANCELED) {
+        BookedStay previousStay = activeStay(booking);
+        // Inventory is only released by the transition that actually changed the row
+        if (bookingRepository.updateStatus(id, BookingStatus.CANCELED, CANCELABLE_STATUSES) == 0) {
             throw new InvalidStatusException("Booking with id: "
                     + booking.getId() + " has already been canceled.");
         }
-
-        booking.setStatus(BookingStatus.CANCELED);
-        bookingRepository.save(booking);
+        recordTransition(previousStay, null);
 
         try {
             eventPublisher.publishEvent(
@@ -129,16 +175,35 @@ public class BookingService {
         }
     }
 
-    public List<Booking> markBookingsAsExpired() {
-        LocalDate today = LocalDate.now();
-        LocalDate thresholdDate = today.minusDays(1);
-        List<Booking> expiredBookings = findExpiredBookings(thresholdDate);
+    /**
+     * Expires up to one batch of active bookings that checked out before the threshold.
+     * Each call runs in its own transaction; callers repeat it until a batch finds no
+     * candidates.
+     */
+    public ExpiryBatch markBookingsAsExpired(LocalDate thresholdDate) {
+        List<BookedStay> candidates = bookingRepository.findStaysToExpire(thresholdDate,
+                ACTIVE_STATUSES, PageRequest.ofSize(EXPIRY_BATCH_SIZE));
+        if (candidates.isEmpty()) {
+            return new ExpiryBatch(0, List.of());
+        }
+        Set<Long> accommodationIds = candidates.stream()
+                .map(BookedStay::accommodationId)
+                .collect(Collectors.toSet());
+        accommodationLockManager.lockForTransaction(accommodationIds.toArray(Long[]::new));
 
-        for (Booking booking : expiredBookings) {
-            booking.setStatus(BookingStatus.EXPIRED);
-            bookingRepository.save(booking);
+        List<Long> expiredIds = bookingRepository.expireBookings(
+                candidates.stream().map(BookedStay::bookingId).toList(),
+                accommodationIds, thresholdDate);
+        if (expiredIds.isEmpty()) {
+            return new ExpiryBatch(candidates.size(), List.of());
+        }
+        List<Booking> expiredBookings = bookingRepository.findWithAccommodationAndUserByIdIn(
+                expiredIds);
+        for (BookedStay stay : expiredBookings.stream().map(this::toStay).toList()) {
+            accommodationService.releaseInventory(stay.accommodationId(),
+                    stay.checkInDate(), stay.checkOutDate());
         }
-        return expiredBookings;
+        return new ExpiryBatch(candidates.size(), expiredBookings);
     }
 
     public Booking findBookingById(Long id) {
@@ -147,28 +212,85 @@ public class BookingService {
                         "Booking not found with id: " + id));
     }
 
+    /**
+     * Locks the booking's accommodation, plus any others given, and only then reads the
+     * booking, so its status and stay cannot change before the transaction ends.
+     */
+    private Booking lockBooking(Long id, Long... otherAccommodationIds) {
+        Long accommodationId = bookingRepository.findAccommodationIdById(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Booking not found with id: " + id));
+        Long[] accommodationIds = Arrays.copyOf(otherAccommodationIds,
+                otherAccommodationIds.length + 1);
+        accommodationIds[otherAccommodationIds.length] = accommodationId;
+        accommodationLockManager.lockForTransaction(accommodationIds);
+
+        Booking booking = bookingRepository.findForUpdateById(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Booking not found with id: " + id));
+        if (!booking.getAccommodation().getId().equals(accommodationId)) {
+            throw new BookingConflictException(
+                    "Booking with id: " + id + " was changed concurrently, please retry.");
+        }
+        return booking;
+    }
+
+    private KeysetCursor keysetOf(BookingResponseDto booking) {
+        return new KeysetCursor(booking.checkInDate().toString(), booking.id());
+    }
+
+    private Specification<Booking> checkedInBefore(KeysetCursor cursor) {
+        return cursor == null
+                ? null
+                : BookingSpecificationBuilder.checkedInBefore(cursor.sortKeyAsDate(), cursor.id());
+    }
+
     private boolean hasPendingPayments(Long userId) {
         return paymentRepository.existsByBooking_User_IdAndStatus(userId, PaymentStatus.PENDING);
     }
 
-    private List<Booking> findExpiredBookings(LocalDate thresholdDate) {
-        return bookingRepository.findByCheckOutDateBeforeAndStatusNot(thresholdDate,
-                BookingStatus.CANCELED);
+    private void validateDates(LocalDate checkIn, LocalDate checkOut) {
+        if (!checkOut.isAfter(checkIn)) {
+            throw new BookingDataException("Check-out date must be after check-in date.");
+        }
     }
 
-    private void validateAvailability(Long accommodationId, LocalDate checkIn,
-                                      LocalDate checkOut) {
-        List<Booking> existingBookings =
-                bookingRepository.findOverlappingBookings(accommodationId, checkIn, checkOut);
-        if (!existingBookings.isEmpty()) {
+    private BookingConflictException conflict(Long accommodationId, LocalDate checkIn,
+                                              LocalDate checkOut) {
+        return new BookingConflictException(String.format(
+                "Accommodation %d is already booked from %s to %s.",
+                accommodationId, checkIn, checkOut
+        ));
+    }
 
-            throw new BookingConflictException(String.format(
-                    "Accommodation %d is already booked from %s to %s.",
-                    accommodationId, checkIn, checkOut
-            ));
+    /**
+     * Moves the stay's nights in accommodation_inventory. The conditional reservation reads
+     * the capacity under the accommodation lock and is the only availability check.
+     */
+    private void recordTransition(BookedStay previousStay, BookedStay currentStay) {
+        if (previousStay != null) {
+            accommodationService.releaseInventory(previousStay.accommodationId(),
+                    previousStay.checkInDate(), previousStay.checkOutDate());
+        }
+        if (currentStay != null && !accommodationService.reserveInventory(
+                currentStay.accommodationId(), currentStay.checkInDate(),
+                currentStay.checkOutDate())) {
+            throw conflict(currentStay.accommodationId(), currentStay.checkInDate(),
+                    currentStay.checkOutDate());
         }
     }
 
+    private BookedStay activeStay(Booking booking) {
+        return ACTIVE_STATUSES.contains(booking.getStatus())
+                ? toStay(booking)
+                : null;
+    }
+
+    private BookedStay toStay(Booking booking) {
+        return new BookedStay(booking.getId(), booking.getAccommodation().getId(),
+                booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+
     private void validateAccess(Long userId, Booking booking) {
         User currentUser = jwtAuthenticationService.findUserById(userId);
         boolean isAdmin = currentUser.getRoles().stream()
@@ -181,4 +303,11 @@ public class BookingService {
                     "Access denied: You can only interact with your own bookings.");
         }
     }
+
+    /**
+     * One expiry batch. Candidates that changed concurrently are not expired, so a batch
+     * can find candidates and still expire nothing.
+     */
+    public record ExpiryBatch(int candidates, List<Booking> expired) {
+    }
 }
@@ -1,9 +1,10 @@
 package test.project.bookingapp.service;
 
+import java.util.concurrent.CompletableFuture;
 import test.project.bookingapp.model.payment.Payment;
 
 public interface NotificationService {
-    void sendNotification(String message);
+    CompletableFuture<Void> sendNotification(String message);
 
     void sendPaymentSuccessNotification(Payment payment);
 
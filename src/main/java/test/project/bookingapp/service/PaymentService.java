@@ -3,6 +3,7 @@ package test.project.bookingapp.service;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import test.project.bookingapp.dto.CursorPage;
 import test.project.bookingapp.dto.payment.CanceledPaymentResponseDto;
 import test.project.bookingapp.dto.payment.PaymentRequestDto;
 import test.project.bookingapp.dto.payment.PaymentResponseDto;
@@ -11,6 +12,9 @@ import test.project.bookingapp.model.User;
 public interface PaymentService {
     Page<PaymentResponseDto> getPayments(User user, Long userId, Pageable pageable);
 
+    CursorPage<PaymentResponseDto> scrollPayments(User user, Long userId, String cursor,
+                                                  int size);
+
     PaymentResponseDto createPayment(@Valid PaymentRequestDto request, Long userId);
 
     PaymentResponseDto processSuccessfulPayment(String sessionId);
@@ -18,4 +22,6 @@ public interface PaymentService {
     CanceledPaymentResponseDto processCanceledPayment(String sessionId);
 
     PaymentResponseDto renewPaymentSession(Long paymentId);
+
+    void handleWebhookEvent(String payload, String signatureHeader);
 }
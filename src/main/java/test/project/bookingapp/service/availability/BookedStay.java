@@ -0,0 +1,11 @@
+package test.project.bookingapp.service.availability;
+
+import java.time.LocalDate;
+
+public record BookedStay(
+        Long bookingId,
+        Long accommodationId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate
+) {
+}
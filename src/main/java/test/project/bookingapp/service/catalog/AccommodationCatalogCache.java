@@ -0,0 +1,103 @@
+package test.project.bookingapp.service.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import test.project.bookingapp.dto.accommodationdtos.AccommodationResponseDto;
+import test.project.bookingapp.events.DatabaseNotificationHandler;
+import test.project.bookingapp.model.accommodation.Accommodation;
+import test.project.bookingapp.utils.TransactionUtils;
+
+/**
+ * Bounded caches of accommodation views by id and of catalog pages by page request. Any
+ * change evicts the accommodation and every cached page, on this node right away and on
+ * the other nodes over Postgres NOTIFY, where the Hibernate second-level cache entry of the
+ * accommodation is evicted as well. Entries carry the version they were built from,
+ * so conditional requests are answered from memory.
+ */
+@Component
+public class AccommodationCatalogCache implements DatabaseNotificationHandler {
+    static final String INVALIDATION_CHANNEL = "accommodation_cache_invalidation";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Cache<Long, Versioned<AccommodationResponseDto>> accommodations;
+    private final Cache<Pageable, Versioned<Page<AccommodationResponseDto>>> pages;
+
+    public AccommodationCatalogCache(JdbcTemplate jdbcTemplate,
+                                     EntityManagerFactory entityManagerFactory,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${catalog.cache.max-size:10000}") long maxSize,
+                                     @Value("${catalog.cache.max-pages:1000}") long maxPages,
+                                     @Value("${catalog.cache.ttl:PT10M}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        accommodations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accommodations, "accommodations");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "accommodation_pages");
+    }
+
+    public Versioned<AccommodationResponseDto> get(
+            Long id, Function<Long, Versioned<AccommodationResponseDto>> loader) {
+        return accommodations.get(id, loader);
+    }
+
+    public Versioned<Page<AccommodationResponseDto>> getPage(
+            Pageable pageable,
+            Function<Pageable, Versioned<Page<AccommodationResponseDto>>> loader) {
+        return pages.get(pageable, loader);
+    }
+
+    /**
+     * Evicts right away and again after the surrounding transaction commits, so a
+     * concurrent load cannot put back the old state. Other nodes are notified on commit.
+     */
+    public void invalidate(Long id) {
+        evict(id);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", INVALIDATION_CHANNEL,
+                String.valueOf(id));
+        TransactionUtils.runAfterCommit(() -> evict(id));
+    }
+
+    @Override
+    public String channel() {
+        return INVALIDATION_CHANNEL;
+    }
+
+    @Override
+    public void onNotification(String id) {
+        // Hibernate only evicts its own entries for changes made on this node
+        entityManagerFactory.getCache().evict(Accommodation.class, Long.valueOf(id));
+        evict(Long.valueOf(id));
+    }
+
+    @Override
+    public void resync() {
+        entityManagerFactory.getCache().evict(Accommodation.class);
+        accommodations.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    private void evict(Long id) {
+        accommodations.invalidate(id);
+        pages.invalidateAll();
+    }
+}
@@ -0,0 +1,11 @@
+package test.project.bookingapp.service.catalog;
+
+/**
+ * A cached view together with the version of the data it was built from, used as the
+ * strong ETag of the response.
+ */
+public record Versioned<T>(long version, T value) {
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,14 @@
+package test.project.bookingapp.service.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", ".ndjson"),
+    CSV("text/csv;charset=UTF-8", ".csv");
+
+    private final String contentType;
+    private final String extension;
+}
@@ -0,0 +1,122 @@
+package test.project.bookingapp.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import test.project.bookingapp.dto.bookingdtos.BookingExportRow;
+import test.project.bookingapp.dto.payment.PaymentExportRow;
+import test.project.bookingapp.repository.PaymentRepository;
+import test.project.bookingapp.repository.booking.BookingRepository;
+
+/**
+ * Streams full tables to an output stream. Rows come from a forward-only database cursor as
+ * flat projections and are written one at a time, so memory use does not depend on the
+ * table size.
+ */
+@Service
+public class ExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final ObjectWriter jsonWriter;
+
+    public ExportService(BookingRepository bookingRepository,
+                         PaymentRepository paymentRepository,
+                         ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        // One buffered flush per buffer, not per row, and the stream stays open between rows
+        this.jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportBookings(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BookingExportRow> rows = bookingRepository.streamExportRows()) {
+            write(rows, BookingExportRow.class, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPayments(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<PaymentExportRow> rows = paymentRepository.streamExportRows()) {
+            write(rows, PaymentExportRow.class, format, out);
+        }
+    }
+
+    private <T extends Record> void write(Stream<T> rows, Class<T> type, ExportFormat format,
+                                          OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RecordComponent[] columns = type.getRecordComponents();
+        if (format == ExportFormat.CSV) {
+            writeCsvHeader(writer, columns);
+        }
+
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, columns, row);
+            } else {
+                jsonWriter.writeValue(writer, row);
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvHeader(Writer writer, RecordComponent[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns[i].getName());
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvRow(Writer writer, RecordComponent[] columns, Record row)
+            throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = valueOf(columns[i], row);
+            if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private Object valueOf(RecordComponent column, Record row) {
+        try {
+            return column.getAccessor().invoke(row);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't read export column " + column.getName(), e);
+        }
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
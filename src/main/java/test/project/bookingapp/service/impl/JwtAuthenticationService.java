@@ -1,5 +1,6 @@
 package test.project.bookingapp.service.impl;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,8 @@ import test.project.bookingapp.model.role.Role;
 import test.project.bookingapp.model.role.RoleName;
 import test.project.bookingapp.repository.RoleRepository;
 import test.project.bookingapp.repository.UserRepository;
+import test.project.bookingapp.security.TokenRevocationService;
+import test.project.bookingapp.security.UserDetailsCache;
 import test.project.bookingapp.service.AuthenticationService;
 import test.project.bookingapp.utils.JwtUtils;
 
@@ -39,18 +43,21 @@ public class JwtAuthenticationService implements AuthenticationService {
     private final RoleRepository roleRepository;
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenRevocationService tokenRevocationService;
     private final Set<RoleName> defaultUserRoles = Collections.singleton(RoleName.ROLE_CUSTOMER);
 
     @Override
     public UserLoginResponseDto authenticate(UserLoginRequestDto request) {
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.email(), request.password()));
         } catch (AuthenticationException ex) {
             throw new BadCredentialsException("Invalid email or password");
         }
 
-        String token = jwtUtils.generateToken(request.email());
+        String token = jwtUtils.generateToken((User) authentication.getPrincipal());
         return new UserLoginResponseDto(token);
     }
 
@@ -74,6 +81,9 @@ public class JwtAuthenticationService implements AuthenticationService {
         User user = findUserById(id);
         user.setRoles(getRoles(request.roles()));
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(updatedUser.getEmail());
+        // Issued tokens carry the old roles, so the user has to log in again
+        tokenRevocationService.revokeAllFor(updatedUser.getId());
         return userMapper.toUserRoleUpdateResponseDto(updatedUser);
     }
 
@@ -91,8 +101,10 @@ public class JwtAuthenticationService implements AuthenticationService {
             throw new EmailAlreadyExistsException("Email " + request.email() + " already exists");
         }
 
+        String previousEmail = user.getEmail();
         userMapper.updateEntity(user, request);
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(previousEmail, updatedUser.getEmail());
         return userMapper.toUserResponseDto(updatedUser);
     }
 
@@ -107,6 +119,15 @@ public class JwtAuthenticationService implements AuthenticationService {
         return null;
     }
 
+    @Override
+    public void logout(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            throw new BadCredentialsException("Token can't be revoked, log in again to get "
+                    + "a revocable token");
+        }
+        tokenRevocationService.revoke(tokenId, expiresAt);
+    }
+
     private Set<Role> getRoles(Set<RoleName> roles) {
         return roles.stream()
                 .map(roleName -> roleRepository.findByName(roleName)
@@ -1,20 +1,34 @@
 package test.project.bookingapp.service.impl;
 
 import com.stripe.Stripe;
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
+import com.stripe.model.Event;
+import com.stripe.model.EventDataObjectDeserializer;
 import com.stripe.model.checkout.Session;
+import com.stripe.net.Webhook;
 import com.stripe.param.checkout.SessionCreateParams;
 import java.math.BigDecimal;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.util.UriComponentsBuilder;
+import test.project.bookingapp.dto.CursorPage;
 import test.project.bookingapp.dto.payment.CanceledPaymentResponseDto;
 import test.project.bookingapp.dto.payment.PaymentRequestDto;
 import test.project.bookingapp.dto.payment.PaymentResponseDto;
@@ -23,6 +37,7 @@ import test.project.bookingapp.exception.EntityNotFoundException;
 import test.project.bookingapp.exception.InvalidStatusException;
 import test.project.bookingapp.exception.StripeSessionException;
 import test.project.bookingapp.exception.UnauthorizedAccessException;
+import test.project.bookingapp.exception.WebhookVerificationException;
 import test.project.bookingapp.mapper.PaymentMapper;
 import test.project.bookingapp.model.User;
 import test.project.bookingapp.model.booking.Booking;
@@ -31,29 +46,46 @@ import test.project.bookingapp.model.payment.Payment;
 import test.project.bookingapp.model.payment.PaymentStatus;
 import test.project.bookingapp.model.role.RoleName;
 import test.project.bookingapp.repository.PaymentRepository;
+import test.project.bookingapp.repository.ProcessedEventRepository;
 import test.project.bookingapp.service.BookingService;
 import test.project.bookingapp.service.NotificationService;
 import test.project.bookingapp.service.PaymentService;
+import test.project.bookingapp.utils.KeysetCursor;
+import test.project.bookingapp.utils.TransactionUtils;
 
+@Slf4j
 @Service
 public class StripeService implements PaymentService {
+    private static final String CHECKOUT_SESSION_COMPLETED = "checkout.session.completed";
+    private static final String CHECKOUT_SESSION_EXPIRED = "checkout.session.expired";
+    private static final Set<String> HANDLED_EVENT_TYPES =
+            Set.of(CHECKOUT_SESSION_COMPLETED, CHECKOUT_SESSION_EXPIRED);
+    private static final int EXPIRY_BATCH_SIZE = 500;
+    private static final Duration DEFAULT_SESSION_LIFETIME = Duration.ofHours(24);
+
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
     private final BookingService bookingService;
     private final String baseUrl;
     private final NotificationService notificationService;
+    private final ProcessedEventRepository processedEventRepository;
+    private final String webhookSecret;
 
     public StripeService(@Value("${stripe.api.key}") String apiKey,
                          PaymentRepository paymentRepository,
                          PaymentMapper paymentMapper,
                          BookingService bookingService,
                          @Value("${app.base.url}") String baseUrl,
-                         NotificationService notificationService) {
+                         NotificationService notificationService,
+                         ProcessedEventRepository processedEventRepository,
+                         @Value("${stripe.webhook.secret}") String webhookSecret) {
         this.paymentRepository = paymentRepository;
         this.paymentMapper = paymentMapper;
         this.bookingService = bookingService;
         this.baseUrl = baseUrl;
         this.notificationService = notificationService;
+        this.processedEventRepository = processedEventRepository;
+        this.webhookSecret = webhookSecret;
         Stripe.apiKey = apiKey;
     }
 
@@ -83,28 +115,45 @@ public class StripeService implements PaymentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<PaymentResponseDto> getPayments(User user, Long userId, Pageable pageable) {
-        boolean isAdmin = user.getRoles().stream()
-                .anyMatch(role -> role.getName().equals(RoleName.ROLE_ADMIN));
-
-        if (!isAdmin && userId == null) {
-            userId = user.getId();
-        }
-
-        if (userId != null) {
-            return paymentRepository.findByBooking_User_Id(userId, pageable)
-                    .map(paymentMapper::toPaymentResponseDto);
+        Long filterUserId = paymentsUserFilter(user, userId);
+        if (filterUserId != null) {
+            return paymentRepository.findResponsesByUserId(filterUserId, pageable);
         } else {
-            return paymentRepository.findAll(pageable)
-                    .map(paymentMapper::toPaymentResponseDto);
+            return paymentRepository.findAllResponses(pageable);
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentResponseDto> scrollPayments(User user, Long userId, String cursor,
+                                                         int size) {
+        Long filterUserId = paymentsUserFilter(user, userId);
+        int limit = CursorPage.limit(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        long beforeId = after == null ? Long.MAX_VALUE : after.id();
+        Pageable firstRows = PageRequest.of(0, limit + 1);
+        List<PaymentResponseDto> rows = filterUserId != null
+                ? paymentRepository.findResponsesByUserIdBefore(filterUserId, beforeId,
+                        firstRows)
+                : paymentRepository.findResponsesBefore(beforeId, firstRows);
+        return CursorPage.of(rows, limit, payment -> KeysetCursor.ofId(payment.id()),
+                Function.identity());
+    }
+
     @Override
     public PaymentResponseDto processSuccessfulPayment(String sessionId) {
         String encodedSessionId = URLEncoder.encode(sessionId, StandardCharsets.UTF_8);
-        Session session;
+        Payment payment = paymentRepository.findBySessionId(encodedSessionId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "No payment found for session ID: " + encodedSessionId));
+        if (payment.getStatus() == PaymentStatus.PAID) {
+            // Already settled by the checkout.session.completed webhook
+            return paymentMapper.toPaymentResponseDto(payment);
+        }
 
+        Session session;
         try {
             session = Session.retrieve(encodedSessionId);
         } catch (StripeException e) {
@@ -113,20 +162,7 @@ public class StripeService implements PaymentService {
         }
 
         if ("paid".equals(session.getPaymentStatus())) {
-            Payment payment = paymentRepository.findBySessionId(encodedSessionId)
-                    .orElseThrow(() -> new EntityNotFoundException(
-                            "No payment found for session ID: " + encodedSessionId));
-
-            if (payment.getStatus() == PaymentStatus.PAID) {
-                throw new InvalidStatusException("Payment has already been processed and marked as"
-                        + " PAID. Current payment status: "
-                        + payment.getStatus() + " for session ID: " + encodedSessionId);
-            }
-
-            payment.setStatus(PaymentStatus.PAID);
-            Payment savedPayment = paymentRepository.save(payment);
-            notificationService.sendPaymentSuccessNotification(savedPayment);
-            return paymentMapper.toPaymentResponseDto(savedPayment);
+            return paymentMapper.toPaymentResponseDto(markPaid(payment));
         }
 
         throw new InvalidStatusException(
@@ -146,7 +182,7 @@ public class StripeService implements PaymentService {
 
     @Override
     public PaymentResponseDto renewPaymentSession(Long paymentId) {
-        Payment payment = paymentRepository.findById(paymentId)
+        Payment payment = paymentRepository.findWithBookingById(paymentId)
                 .orElseThrow(() -> new EntityNotFoundException("Invalid payment ID: "
                         + paymentId));
         Booking booking = payment.getBooking();
@@ -157,6 +193,7 @@ public class StripeService implements PaymentService {
 
             payment.setSessionId(session.getId());
             payment.setSessionUrl(session.getUrl());
+            payment.setExpiresAt(expiresAt(session));
             payment.setStatus(PaymentStatus.PENDING);
             paymentRepository.save(payment);
 
@@ -166,23 +203,58 @@ public class StripeService implements PaymentService {
         }
     }
 
+    /**
+     * Applies a signed checkout session event. Each event id is recorded in the same
+     * transaction as its payment update, so redeliveries are acknowledged without effect.
+     */
+    @Override
+    @Transactional
+    public void handleWebhookEvent(String payload, String signatureHeader) {
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signatureHeader, webhookSecret);
+        } catch (SignatureVerificationException e) {
+            throw new WebhookVerificationException("Invalid Stripe webhook signature", e);
+        }
+        if (!HANDLED_EVENT_TYPES.contains(event.getType())
+                || processedEventRepository.insertIfAbsent(event.getId()) == 0) {
+            return;
+        }
+
+        Session session = sessionOf(event);
+        Optional<Payment> payment = paymentRepository.findBySessionId(session.getId());
+        if (payment.isEmpty()) {
+            log.warn("Ignoring {} for unknown session {}", event.getType(), session.getId());
+            return;
+        }
+        if (CHECKOUT_SESSION_COMPLETED.equals(event.getType())) {
+            if ("paid".equals(session.getPaymentStatus())
+                    && payment.get().getStatus() != PaymentStatus.PAID) {
+                markPaid(payment.get());
+            }
+        } else if (payment.get().getStatus() == PaymentStatus.PENDING) {
+            payment.get().setStatus(PaymentStatus.EXPIRED);
+            paymentRepository.save(payment.get());
+        }
+    }
+
     @Scheduled(cron = "0 * * * * *")
     public void checkExpiredPayments() {
-        paymentRepository.findAll().forEach(payment -> {
-            try {
-                Session session = Session.retrieve(payment.getSessionId());
-
-                if (payment.getStatus() != PaymentStatus.PAID
-                        && session.getExpiresAt() != null
-                        && session.getExpiresAt() < System.currentTimeMillis() / 1000) {
-                    payment.setStatus(PaymentStatus.EXPIRED);
-                    paymentRepository.save(payment);
-                }
-            } catch (StripeException e) {
-                throw new StripeSessionException("Failed to retrieve session id: "
-                        + payment.getSessionId(), e);
-            }
-        });
+        Instant now = Instant.now();
+        int expired;
+        do {
+            expired = paymentRepository.expirePendingPayments(now, EXPIRY_BATCH_SIZE);
+        } while (expired == EXPIRY_BATCH_SIZE);
+    }
+
+    /**
+     * Customers only ever see their own payments, whatever userId they pass; admins see
+     * everyone's unless they filter.
+     */
+    private Long paymentsUserFilter(User user, Long userId) {
+        boolean isAdmin = user.getRoles().stream()
+                .anyMatch(role -> role.getName().equals(RoleName.ROLE_ADMIN));
+        return isAdmin ? userId : user.getId();
     }
 
     private PaymentResponseDto createNewPayment(Booking booking) {
@@ -196,6 +268,7 @@ public class StripeService implements PaymentService {
                 payment.setStatus(PaymentStatus.PENDING);
                 payment.setSessionId(session.getId());
                 payment.setSessionUrl(session.getUrl());
+                payment.setExpiresAt(expiresAt(session));
                 payment.setAmount(amountToPay);
 
                 Payment savedPayment = paymentRepository.save(payment);
@@ -210,6 +283,38 @@ public class StripeService implements PaymentService {
         }
     }
 
+    /**
+     * Settles the payment through a conditional update, so only the path that changed the
+     * row sends the success notification.
+     */
+    private Payment markPaid(Payment payment) {
+        boolean settled = paymentRepository.markPaid(payment.getId()) == 1;
+        payment.setStatus(PaymentStatus.PAID);
+        if (settled) {
+            TransactionUtils.runAfterCommit(
+                    () -> notificationService.sendPaymentSuccessNotification(payment));
+        }
+        return payment;
+    }
+
+    private Session sessionOf(Event event) {
+        EventDataObjectDeserializer deserializer = event.getDataObjectDeserializer();
+        try {
+            return (Session) (deserializer.getObject().isPresent()
+                    ? deserializer.getObject().get()
+                    : deserializer.deserializeUnsafe());
+        } catch (EventDataObjectDeserializationException e) {
+            throw new StripeSessionException("Failed to read session of event " + event.getId(),
+                    e);
+        }
+    }
+
+    private Instant expiresAt(Session session) {
+        return session.getExpiresAt() != null
+                ? Instant.ofEpochSecond(session.getExpiresAt())
+                : Instant.now().plus(DEFAULT_SESSION_LIFETIME);
+    }
+
     private String getMessage(Payment payment) {
         String message;
 
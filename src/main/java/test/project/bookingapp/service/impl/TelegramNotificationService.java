@@ -1,46 +1,29 @@
 package test.project.bookingapp.service.impl;
 
-import java.util.List;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.event.EventListener;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import test.project.bookingapp.events.BookingNotificationEvent;
 import test.project.bookingapp.model.booking.Booking;
 import test.project.bookingapp.model.payment.Payment;
 import test.project.bookingapp.service.BookingService;
 import test.project.bookingapp.service.NotificationService;
+import test.project.bookingapp.service.notification.TelegramDispatcher;
 
+@RequiredArgsConstructor
 @Service
 public class TelegramNotificationService implements NotificationService {
     private final BookingService bookingService;
-    private final RestTemplate restTemplate;
-    private final String telegramApiUrl = "https://api.telegram.org/bot";
-    @Value("${telegram.bot.token}")
-    private String botToken;
-    @Value("${telegram.chat.id}")
-    private String chatId;
-
-    public TelegramNotificationService(BookingService bookingService, RestTemplate restTemplate,
-                                       @Value("${telegram.bot.token}") String botToken,
-                                       @Value("${telegram.chat.id}") String chatId) {
-        this.bookingService = bookingService;
-        this.restTemplate = restTemplate;
-        this.botToken = botToken;
-        this.chatId = chatId;
-    }
-
-    @EventListener
-    public void handleBookingNotification(BookingNotificationEvent event) {
-        sendNotification(event.getMessage());
-    }
+    private final TelegramDispatcher telegramDispatcher;
 
+    /**
+     * Completes once the message was delivered, so that callers such as the outbox can
+     * record the outcome and retry failures.
+     */
     @Override
-    public void sendNotification(String message) {
-        String url = String.format("%s%s/sendMessage?chat_id=%s&text=%s",
-                telegramApiUrl, botToken, chatId, message);
-        restTemplate.getForObject(url, String.class);
+    public CompletableFuture<Void> sendNotification(String message) {
+        return telegramDispatcher.deliver(message);
     }
 
     @Override
@@ -56,32 +39,37 @@ public class TelegramNotificationService implements NotificationService {
                 payment.getBooking().getId(),
                 payment.getBooking().getUser().getUsername()
         );
-        sendNotification(message);
+        telegramDispatcher.submit(message);
     }
 
     @Override
     @Scheduled(cron = "0 0 0 * * ?")
     public void checkExpiredBookings() {
-        List<Booking> expiredBookings = bookingService.markBookingsAsExpired();
-
-        if (expiredBookings.isEmpty()) {
-            sendNotification("No expired bookings today!");
-            return;
+        LocalDate thresholdDate = LocalDate.now().minusDays(1);
+        boolean anyExpired = false;
+        BookingService.ExpiryBatch batch;
+        do {
+            batch = bookingService.markBookingsAsExpired(thresholdDate);
+            anyExpired |= !batch.expired().isEmpty();
+            batch.expired().forEach(this::sendBookingExpiredNotification);
+        } while (batch.candidates() > 0);
+        if (!anyExpired) {
+            telegramDispatcher.submit("No expired bookings today!");
         }
+    }
 
-        for (Booking booking : expiredBookings) {
-            String message = String.format(
-                    "Booking expired! 📅\n"
-                            + "🏠 Accommodation: %s\n"
-                            + "👤 Guest: %s\n"
-                            + "📅 Check-out: %s\n"
-                            + "🔗 Booking ID: %s",
-                    booking.getAccommodation().getType(),
-                    booking.getUser().getUsername(),
-                    booking.getCheckOutDate(),
-                    booking.getId()
-            );
-            sendNotification(message);
-        }
+    private void sendBookingExpiredNotification(Booking booking) {
+        String message = String.format(
+                "Booking expired! 📅\n"
+                        + "🏠 Accommodation: %s\n"
+                        + "👤 Guest: %s\n"
+                        + "📅 Check-out: %s\n"
+                        + "🔗 Booking ID: %s",
+                booking.getAccommodation().getType(),
+                booking.getUser().getUsername(),
+                booking.getCheckOutDate(),
+                booking.getId()
+        );
+        telegramDispatcher.submit(message);
     }
 }
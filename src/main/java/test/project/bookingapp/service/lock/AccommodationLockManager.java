@@ -0,0 +1,10 @@
+package test.project.bookingapp.service.lock;
+
+public interface AccommodationLockManager {
+    /**
+     * Locks every given accommodation until the current transaction completes. Locks are
+     * taken in a fixed global order, so callers touching several accommodations never
+     * deadlock each other.
+     */
+    void lockForTransaction(Long... accommodationIds);
+}
@@ -0,0 +1,49 @@
+package test.project.bookingapp.service.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@ConditionalOnProperty(value = "booking.lock.mode", havingValue = "advisory")
+public class AdvisoryAccommodationLockManager implements AccommodationLockManager {
+    private static final String MODE = "advisory";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter contendedCounter;
+    private final Timer waitTimer;
+
+    public AdvisoryAccommodationLockManager(JdbcTemplate jdbcTemplate,
+                                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        contendedCounter = LockMetrics.contendedCounter(meterRegistry, MODE);
+        waitTimer = LockMetrics.waitTimer(meterRegistry, MODE);
+    }
+
+    @Override
+    public void lockForTransaction(Long... accommodationIds) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(
+                    "Accommodation locks can only be taken inside a transaction");
+        }
+        Arrays.stream(accommodationIds)
+                .sorted()
+                .distinct()
+                .forEach(this::lock);
+    }
+
+    private void lock(Long accommodationId) {
+        Boolean acquired = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, accommodationId);
+        if (!Boolean.TRUE.equals(acquired)) {
+            contendedCounter.increment();
+            waitTimer.record(() -> jdbcTemplate.queryForObject(
+                    "SELECT pg_advisory_xact_lock(?)::text", String.class, accommodationId));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package test.project.bookingapp.service.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@ConditionalOnProperty(value = "booking.lock.mode", havingValue = "local", matchIfMissing = true)
+public class LocalAccommodationLockManager implements AccommodationLockManager {
+    private static final String MODE = "local";
+
+    private final ReentrantLock[] stripes;
+    private final Counter contendedCounter;
+    private final Timer waitTimer;
+
+    public LocalAccommodationLockManager(@Value("${booking.lock.stripes:1024}") int stripeCount,
+                                         MeterRegistry meterRegistry) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException(
+                    "booking.lock.stripes must be a power of two, got: " + stripeCount);
+        }
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        contendedCounter = LockMetrics.contendedCounter(meterRegistry, MODE);
+        waitTimer = LockMetrics.waitTimer(meterRegistry, MODE);
+    }
+
+    @Override
+    public void lockForTransaction(Long... accommodationIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException(
+                    "Accommodation locks can only be taken inside a transaction");
+        }
+        int[] stripeIndexes = Arrays.stream(accommodationIds)
+                .mapToInt(this::stripeIndex)
+                .sorted()
+                .distinct()
+                .toArray();
+        for (int stripeIndex : stripeIndexes) {
+            ReentrantLock lock = stripes[stripeIndex];
+            if (!lock.tryLock()) {
+                contendedCounter.increment();
+                waitTimer.record(lock::lock);
+            }
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            lock.unlock();
+                        }
+                    });
+        }
+    }
+
+    private int stripeIndex(Long accommodationId) {
+        int hash = accommodationId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,24 @@
+package test.project.bookingapp.service.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+final class LockMetrics {
+    private LockMetrics() {
+    }
+
+    static Counter contendedCounter(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("booking.lock.contended")
+                .description("Accommodation lock acquisitions that had to wait")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    static Timer waitTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("booking.lock.wait")
+                .description("Time spent waiting for a contended accommodation lock")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,89 @@
+package test.project.bookingapp.service.notification;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import test.project.bookingapp.model.notification.OutboxMessage;
+import test.project.bookingapp.service.NotificationService;
+
+/**
+ * Polls the outbox and hands due messages to the notification service without waiting for
+ * them. Claiming and recording each outcome run in their own short transactions, and at
+ * most one batch of messages is in flight at a time, so leases are not claimed faster
+ * than messages are delivered.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class NotificationOutboxDispatcher {
+    private final NotificationOutboxService outboxService;
+    private final NotificationService notificationService;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    @Value("${notification.outbox.batch-size:50}")
+    private int batchSize;
+    @Value("${notification.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        int limit = batchSize - inFlight.get();
+        while (limit > 0) {
+            List<OutboxMessage> claimed = outboxService.claimBatch(limit, lease);
+            boolean accepted = true;
+            for (OutboxMessage message : claimed) {
+                accepted &= deliver(message);
+            }
+            if (!accepted || claimed.size() < limit) {
+                return;
+            }
+            limit = batchSize - inFlight.get();
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns false when the message was turned away at once, e.g. by a full queue, so
+     * that the rest waits for the next poll.
+     */
+    private boolean deliver(OutboxMessage message) {
+        inFlight.incrementAndGet();
+        CompletableFuture<Void> delivered =
+                notificationService.sendNotification(message.getMessage());
+        delivered.whenComplete((ignored, failure) -> {
+            try {
+                settle(message.getId(), failure);
+            } catch (RuntimeException e) {
+                // The lease runs out and the message is delivered again
+                log.warn("Failed to record the outcome of notification {}",
+                        message.getId(), e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        return !delivered.isCompletedExceptionally();
+    }
+
+    private void settle(Long id, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (cause == null) {
+            outboxService.markSent(id);
+        } else if (cause instanceof RejectedExecutionException) {
+            outboxService.release(id);
+        } else {
+            outboxService.markFailed(id, cause);
+        }
+    }
+}
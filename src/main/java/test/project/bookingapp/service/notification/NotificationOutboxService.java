@@ -0,0 +1,112 @@
+package test.project.bookingapp.service.notification;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import test.project.bookingapp.events.BookingNotificationEvent;
+import test.project.bookingapp.model.notification.OutboxMessage;
+import test.project.bookingapp.model.notification.OutboxStatus;
+import test.project.bookingapp.repository.NotificationOutboxRepository;
+
+/**
+ * Transactional outbox for booking notifications. Messages are stored alongside the booking
+ * change that produced them and delivered later by {@link NotificationOutboxDispatcher}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class NotificationOutboxService {
+    static final int MAX_ATTEMPTS = 8;
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final NotificationOutboxRepository outboxRepository;
+
+    /**
+     * Runs synchronously in the publisher's transaction, so the message is committed or
+     * rolled back together with the booking.
+     */
+    @EventListener
+    public void enqueue(BookingNotificationEvent event) {
+        Instant now = Instant.now();
+        OutboxMessage message = new OutboxMessage();
+        message.setMessage(event.getMessage());
+        message.setStatus(OutboxStatus.PENDING);
+        message.setNextAttemptAt(now);
+        message.setCreatedAt(now);
+        outboxRepository.save(message);
+    }
+
+    /**
+     * Claims up to one batch of due messages in a short transaction. Each claimed message
+     * is leased: it stays out of later claims until the lease ends, so the row locks are
+     * released on commit while delivery runs outside any transaction. A message whose
+     * outcome is never recorded becomes due again when its lease ends.
+     */
+    @Transactional
+    public List<OutboxMessage> claimBatch(int batchSize, Duration lease) {
+        Instant leasedUntil = Instant.now().plus(lease);
+        List<OutboxMessage> due = outboxRepository.claimDue(Instant.now(), batchSize);
+        due.forEach(message -> message.setNextAttemptAt(leasedUntil));
+        return due;
+    }
+
+    @Transactional
+    public void markSent(Long id) {
+        outboxRepository.findById(id).ifPresent(message -> {
+            message.setStatus(OutboxStatus.SENT);
+            message.setLastError(null);
+            message.setAttempts(message.getAttempts() + 1);
+        });
+    }
+
+    /**
+     * Ends the lease without counting an attempt, for messages that were never handed to
+     * Telegram, so the next poll picks them up again.
+     */
+    @Transactional
+    public void release(Long id) {
+        outboxRepository.findById(id).ifPresent(message ->
+                message.setNextAttemptAt(Instant.now()));
+    }
+
+    /**
+     * Retries the message with exponential backoff, or dead-letters it after
+     * {@link #MAX_ATTEMPTS}.
+     */
+    @Transactional
+    public void markFailed(Long id, Throwable e) {
+        outboxRepository.findById(id).ifPresent(message -> {
+            recordFailure(message, e, Instant.now());
+            message.setAttempts(message.getAttempts() + 1);
+        });
+    }
+
+    private void recordFailure(OutboxMessage message, Throwable e, Instant now) {
+        int attempts = message.getAttempts() + 1;
+        String error = String.valueOf(e.getMessage());
+        message.setLastError(error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error);
+        if (attempts >= MAX_ATTEMPTS) {
+            message.setStatus(OutboxStatus.DEAD);
+            log.error("Notification {} dead-lettered after {} attempts", message.getId(),
+                    attempts, e);
+            return;
+        }
+        message.setNextAttemptAt(now.plus(backoff(attempts)));
+        log.warn("Notification {} failed on attempt {}, retrying at {}", message.getId(),
+                attempts, message.getNextAttemptAt());
+    }
+
+    static Duration backoff(int attempts) {
+        Duration delay = INITIAL_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+}
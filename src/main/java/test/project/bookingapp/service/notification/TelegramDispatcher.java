@@ -0,0 +1,199 @@
+package test.project.bookingapp.service.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Sends messages to the configured Telegram chat. Every message is queued and sent by one
+ * worker through a token bucket sized to Telegram's per-chat limit, and a burst is
+ * coalesced into digest messages of at most {@value #MAX_MESSAGE_LENGTH} characters. When
+ * the queue is full, new messages are dropped and counted. With
+ * {@code telegram.dispatcher.enabled=false} no worker is started and every message is
+ * turned away, so outbox messages are left to the nodes that do send.
+ */
+@Slf4j
+@Component
+public class TelegramDispatcher {
+    static final int MAX_MESSAGE_LENGTH = 4096;
+    private static final String DIGEST_SEPARATOR = "\n\n";
+
+    private final RestTemplate restTemplate;
+    private final String apiUrl;
+    private final String botToken;
+    private final String chatId;
+    private final TokenBucket rateLimiter;
+    private final BlockingQueue<QueuedMessage> queue;
+    private final Counter droppedMessages;
+    private final Counter coalescedMessages;
+    private final Counter failedSends;
+    private final Timer sendLatency;
+    private final boolean enabled;
+    private volatile Thread worker;
+
+    public TelegramDispatcher(RestTemplate restTemplate, MeterRegistry meterRegistry,
+                              @Value("${telegram.api.url:https://api.telegram.org}")
+                              String apiUrl,
+                              @Value("${telegram.bot.token}") String botToken,
+                              @Value("${telegram.chat.id}") String chatId,
+                              @Value("${telegram.dispatcher.queue-capacity:10000}")
+                              int queueCapacity,
+                              @Value("${telegram.rate-limit.messages-per-minute:20}")
+                              int messagesPerMinute,
+                              @Value("${telegram.rate-limit.burst:3}") int burst,
+                              @Value("${telegram.dispatcher.enabled:true}") boolean enabled) {
+        this.restTemplate = restTemplate;
+        this.apiUrl = apiUrl;
+        this.botToken = botToken;
+        this.chatId = chatId;
+        this.rateLimiter = new TokenBucket(burst,
+                Duration.ofMinutes(1).dividedBy(messagesPerMinute));
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gaugeCollectionSize("telegram.dispatch.queue.depth", Tags.empty(), queue);
+        this.droppedMessages = meterRegistry.counter("telegram.dispatch.dropped");
+        this.coalescedMessages = meterRegistry.counter("telegram.dispatch.coalesced");
+        this.failedSends = meterRegistry.counter("telegram.dispatch.failed");
+        this.sendLatency = meterRegistry.timer("telegram.dispatch.send");
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Telegram dispatcher is disabled, messages will not be sent");
+            return;
+        }
+        worker = new Thread(this::drain, "telegram-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Queues a message for asynchronous delivery, returning false if it was dropped.
+     */
+    public boolean submit(String message) {
+        return offer(new QueuedMessage(message, null));
+    }
+
+    /**
+     * Queues a message and returns a future that completes once Telegram accepted the
+     * digest carrying it, or exceptionally when that send failed. A full queue fails the
+     * future right away with a {@link RejectedExecutionException}.
+     */
+    public CompletableFuture<Void> deliver(String message) {
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+        if (!offer(new QueuedMessage(message, delivered))) {
+            delivered.completeExceptionally(new RejectedExecutionException(enabled
+                    ? "Telegram dispatch queue is full"
+                    : "Telegram dispatcher is disabled"));
+        }
+        return delivered;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private boolean offer(QueuedMessage message) {
+        if (!enabled) {
+            return false;
+        }
+        if (queue.offer(message)) {
+            return true;
+        }
+        droppedMessages.increment();
+        log.warn("Telegram dispatch queue is full, dropping message");
+        return false;
+    }
+
+    private void drain() {
+        while (worker != null) {
+            List<QueuedMessage> digest = List.of();
+            try {
+                QueuedMessage first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    // Messages queued while waiting for a token join the same digest
+                    rateLimiter.acquire();
+                    digest = coalesce(first);
+                    post(digest.stream()
+                            .map(QueuedMessage::text)
+                            .collect(Collectors.joining(DIGEST_SEPARATOR)));
+                    digest.forEach(message -> message.complete(null));
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                failedSends.increment();
+                log.warn("Failed to deliver Telegram message", e);
+                digest.forEach(message -> message.complete(e));
+            }
+        }
+    }
+
+    private void post(String text) {
+        sendLatency.record(() -> restTemplate.postForObject(
+                apiUrl + "/bot{token}/sendMessage",
+                Map.of("chat_id", chatId, "text", text),
+                String.class, botToken));
+    }
+
+    private List<QueuedMessage> coalesce(QueuedMessage first) {
+        List<QueuedMessage> digest = new ArrayList<>();
+        digest.add(new QueuedMessage(truncate(first.text()), first.delivered()));
+        int length = digest.get(0).text().length();
+        QueuedMessage next = queue.peek();
+        while (next != null && length + DIGEST_SEPARATOR.length() + next.text().length()
+                <= MAX_MESSAGE_LENGTH) {
+            digest.add(queue.poll());
+            length += DIGEST_SEPARATOR.length() + next.text().length();
+            coalescedMessages.increment();
+            next = queue.peek();
+        }
+        return digest;
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_MESSAGE_LENGTH
+                ? message.substring(0, MAX_MESSAGE_LENGTH)
+                : message;
+    }
+
+    private record QueuedMessage(String text, CompletableFuture<Void> delivered) {
+        void complete(RuntimeException failure) {
+            if (delivered == null) {
+                return;
+            }
+            if (failure == null) {
+                delivered.complete(null);
+            } else {
+                delivered.completeExceptionally(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package test.project.bookingapp.service.notification;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket holding up to {@code capacity} tokens and regaining one every
+ * {@code refillInterval}.
+ */
+public class TokenBucket {
+    private final int capacity;
+    private final long refillNanos;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, Duration refillInterval) {
+        this(capacity, refillInterval, System::nanoTime);
+    }
+
+    TokenBucket(int capacity, Duration refillInterval, LongSupplier nanoClock) {
+        if (capacity <= 0 || refillInterval.isNegative() || refillInterval.isZero()) {
+            throw new IllegalArgumentException("Token bucket needs a positive capacity and rate");
+        }
+        this.capacity = capacity;
+        this.refillNanos = refillInterval.toNanos();
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (nanosUntilAvailable() > 0) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Blocks until a token is available.
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                waitNanos = nanosUntilAvailable();
+                if (waitNanos == 0) {
+                    tokens -= 1;
+                    return;
+                }
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private long nanosUntilAvailable() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (double) (now - lastRefill) / refillNanos);
+        lastRefill = now;
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) * refillNanos);
+    }
+}
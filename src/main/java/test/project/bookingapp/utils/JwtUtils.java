@@ -1,60 +1,76 @@
 package test.project.bookingapp.utils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import test.project.bookingapp.model.User;
+import test.project.bookingapp.model.role.Role;
 
 @Component
 public class JwtUtils {
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLES_CLAIM = "roles";
+
     private final long expiration;
+    private final Duration maxAge;
     private final Key secret;
+    private final JwtParser parser;
 
     public JwtUtils(@Value("${jwt.secret}") String secretString,
-                    @Value("${jwt.expiration}") long expiration) {
+                    @Value("${jwt.expiration}") long expiration,
+                    @Value("${jwt.max-age:PT24H}") Duration maxAge) {
         secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(secret)
+                .build();
         this.expiration = expiration;
+        this.maxAge = maxAge;
     }
 
-    public String generateToken(String username) {
+    /**
+     * Issues a token carrying the user id and role names, so that requests can be
+     * authenticated from the token alone. The random token id lets the token be revoked.
+     */
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(username)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getRoles().stream()
+                        .map(Role::getAuthority)
+                        .toList())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(secret)
                 .compact();
     }
 
-    public boolean isValidToken(String token) {
-        try {
-            Jws<Claims> claimsJws = Jwts.parserBuilder()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-
-            return !claimsJws.getBody().getExpiration().before(new Date());
-        } catch (JwtException | IllegalArgumentException e) {
-            throw new JwtException("Expired or invalid JWT token");
+    /**
+     * Verifies the signature and expiry once and returns the claims. Throws
+     * {@link ExpiredJwtException} for tokens past their expiry or older than
+     * {@code jwt.max-age}, and {@link JwtException} or {@link IllegalArgumentException}
+     * for anything else invalid.
+     */
+    public Claims parseClaims(String token) {
+        Jws<Claims> jws = parser.parseClaimsJws(token);
+        Claims claims = jws.getBody();
+        Date issuedAt = claims.getIssuedAt();
+        if (issuedAt == null || issuedAt.toInstant().plus(maxAge).isBefore(Instant.now())) {
+            throw new ExpiredJwtException(jws.getHeader(), claims,
+                    "JWT token exceeds the maximum age of " + maxAge);
         }
-    }
-
-    public String getUsername(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
-
-    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+        return claims;
     }
 }
@@ -0,0 +1,47 @@
+package test.project.bookingapp.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import test.project.bookingapp.exception.InvalidCursorException;
+
+/**
+ * Continuation token for keyset pagination: the sort key and id of the last row the client
+ * has seen. Clients receive it base64url-encoded and must treat it as opaque.
+ */
+public record KeysetCursor(String sortKey, long id) {
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor ofId(long id) {
+        return new KeysetCursor("", id);
+    }
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token),
+                    StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(raw.substring(0, separator),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid pagination cursor: " + token);
+        }
+    }
+
+    public LocalDate sortKeyAsDate() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid pagination cursor position: " + sortKey);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortKey + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
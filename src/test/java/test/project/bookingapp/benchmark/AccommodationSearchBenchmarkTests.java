@@ -0,0 +1,110 @@
+package test.project.bookingapp.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import test.project.bookingapp.model.accommodation.AccommodationType;
+import test.project.bookingapp.repository.AccommodationRepository;
+
+/**
+ * Availability search over 100k listings and 10M bookings. Target: the first 20 free
+ * listings come back within 100 ms at p95, with or without type and location filters.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "/db/clean-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class AccommodationSearchBenchmarkTests {
+    private static final int LISTINGS = 100_000;
+    private static final int BOOKINGS_PER_LISTING = 100;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 500;
+    private static final Duration P95_TARGET = Duration.ofMillis(100);
+    private static final LocalDate HORIZON_START = LocalDate.of(2030, 1, 1);
+    private static final int HORIZON_DAYS = BOOKINGS_PER_LISTING * 7;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Availability search should meet its p95 latency target")
+    void findAvailable_LargeCatalog_MeetsLatencyTarget() {
+        seed();
+        Random random = new Random(42);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            search(random);
+        }
+
+        long[] latencies = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            latencies[i] = search(random);
+        }
+        Arrays.sort(latencies);
+        Duration p50 = Duration.ofNanos(latencies[MEASURED_ITERATIONS / 2]);
+        Duration p95 = Duration.ofNanos(latencies[MEASURED_ITERATIONS * 95 / 100]);
+        Duration p99 = Duration.ofNanos(latencies[MEASURED_ITERATIONS * 99 / 100]);
+        log.info("Availability search over {} listings / {} bookings: p50={}ms p95={}ms p99={}ms",
+                LISTINGS, LISTINGS * BOOKINGS_PER_LISTING,
+                p50.toMillis(), p95.toMillis(), p99.toMillis());
+
+        assertThat(p95).isLessThanOrEqualTo(P95_TARGET);
+    }
+
+    private long search(Random random) {
+        LocalDate checkIn = HORIZON_START.plusDays(random.nextInt(HORIZON_DAYS));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(7));
+        AccommodationType[] types = AccommodationType.values();
+        String type = random.nextBoolean() ? types[random.nextInt(types.length)].name() : null;
+        String location = random.nextInt(4) == 0 ? "City " + random.nextInt(500) : null;
+
+        long start = System.nanoTime();
+        accommodationRepository.findAvailable(checkIn, checkOut, type, location,
+                new String[0], PageRequest.of(0, 20, Sort.by("id")));
+        return System.nanoTime() - start;
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (1, 'benchmark@example.com', 'password', 'Bench', 'Mark')");
+        jdbcTemplate.update("INSERT INTO accommodations "
+                + "(id, type, location, size, daily_rate, availability) "
+                + "SELECT g, (ARRAY['HOUSE', 'APARTMENT', 'CONDO', 'VACATION_HOME', 'HOTEL'])"
+                + "[1 + g % 5], 'City ' || (g % 500), 'Medium', 100.00, 1 "
+                + "FROM generate_series(1, ?) g", LISTINGS);
+        jdbcTemplate.update("INSERT INTO bookings "
+                + "(id, check_in_date, check_out_date, accommodation_id, user_id, status) "
+                + "SELECT (a - 1) * ? + k + 1, "
+                + "CAST(? AS date) + k * 7 + a % 3, "
+                + "CAST(? AS date) + k * 7 + a % 3 + 1 + (a + k) % 5, a, 1, "
+                + "CASE WHEN (a + k) % 10 = 0 THEN 'CANCELED' ELSE 'CONFIRMED' END "
+                + "FROM generate_series(1, ?) a, generate_series(0, ? - 1) k",
+                BOOKINGS_PER_LISTING, HORIZON_START, HORIZON_START, LISTINGS,
+                BOOKINGS_PER_LISTING);
+        jdbcTemplate.update("INSERT INTO accommodation_inventory "
+                + "(accommodation_id, day, booked_count) "
+                + "SELECT b.accommodation_id, CAST(night AS date), COUNT(*) FROM bookings b, "
+                + "generate_series(b.check_in_date, b.check_out_date - 1, INTERVAL '1 day') night "
+                + "WHERE b.status IN ('PENDING', 'CONFIRMED') "
+                + "GROUP BY b.accommodation_id, CAST(night AS date)");
+        jdbcTemplate.execute("ANALYZE accommodations");
+        jdbcTemplate.execute("ANALYZE accommodation_inventory");
+    }
+}
@@ -0,0 +1,103 @@
+package test.project.bookingapp.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import test.project.bookingapp.model.User;
+import test.project.bookingapp.model.accommodation.Accommodation;
+import test.project.bookingapp.model.booking.Booking;
+import test.project.bookingapp.model.booking.BookingStatus;
+import test.project.bookingapp.repository.booking.BookingRepository;
+
+/**
+ * Bulk booking inserts. Compares the old one-round-trip-per-id, one-statement-per-row
+ * pattern with Hibernate's pooled ids and JDBC batching. Target: batched inserts are at
+ * least 5x faster. Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "/db/clean-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class BookingInsertBenchmarkTests {
+    private static final int ROWS = 20_000;
+    private static final double SPEEDUP_TARGET = 5.0;
+    private static final LocalDate HORIZON_START = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Batched booking inserts should meet their throughput target")
+    void saveAll_PooledIdsAndBatching_MeetsThroughputTarget() {
+        seed();
+        insertRowByRow(ROWS / 10);
+        insertBatched(ROWS / 10);
+
+        double rowByRow = insertRowByRow(ROWS);
+        double batched = insertBatched(ROWS);
+        log.info("Booking inserts: row-by-row={} rows/s, batched={} rows/s, speedup={}x",
+                Math.round(rowByRow), Math.round(batched), Math.round(batched / rowByRow));
+
+        assertThat(batched).isGreaterThanOrEqualTo(rowByRow * SPEEDUP_TARGET);
+    }
+
+    private double insertRowByRow(int rows) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            Long id = jdbcTemplate.queryForObject("SELECT nextval('bookings_id_seq')",
+                    Long.class);
+            jdbcTemplate.update("INSERT INTO bookings "
+                    + "(id, check_in_date, check_out_date, accommodation_id, user_id, status) "
+                    + "VALUES (?, ?, ?, 1, 1, 'CANCELED')",
+                    id, HORIZON_START.plusDays(i), HORIZON_START.plusDays(i + 1));
+        }
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private double insertBatched(int rows) {
+        Accommodation accommodation = entityManager.getReference(Accommodation.class, 1L);
+        User user = entityManager.getReference(User.class, 1L);
+        List<Booking> bookings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Booking booking = new Booking();
+            booking.setAccommodation(accommodation);
+            booking.setUser(user);
+            booking.setCheckInDate(HORIZON_START.plusDays(i));
+            booking.setCheckOutDate(HORIZON_START.plusDays(i + 1));
+            booking.setStatus(BookingStatus.CANCELED);
+            bookings.add(booking);
+        }
+
+        long start = System.nanoTime();
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+        double throughput = rows / ((System.nanoTime() - start) / 1e9);
+        entityManager.clear();
+        return throughput;
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (1, 'benchmark@example.com', 'password', 'Bench', 'Mark')");
+        jdbcTemplate.update("INSERT INTO accommodations "
+                + "(id, type, location, size, daily_rate, availability) "
+                + "VALUES (1, 'HOTEL', 'City 1', 'Medium', 100.00, 1)");
+    }
+}
@@ -0,0 +1,131 @@
+package test.project.bookingapp.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import test.project.bookingapp.model.booking.Booking;
+import test.project.bookingapp.repository.booking.BookingRepository;
+import test.project.bookingapp.repository.booking.specification.BookingSpecificationBuilder;
+
+/**
+ * Deep pagination of one user's bookings and of the admin listing. Compares OFFSET pages,
+ * which also run a COUNT, with keyset slices on (check_in_date, id). Target: keyset page
+ * 10,000 is within 2x of keyset page 1 and at least 10x faster than offset page 10,000. Run
+ * with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "/db/clean-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class BookingPaginationBenchmarkTests {
+    private static final long USER_ID = 1L;
+    private static final int BOOKINGS = 250_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 9_999;
+    private static final int RUNS = 15;
+    private static final Sort NEWEST_FIRST =
+            Sort.by(Sort.Direction.DESC, "checkInDate", "id");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Keyset pagination should keep deep pages as fast as the first page")
+    void findByUserIdBefore_DeepPage_MeetsLatencyTarget() {
+        seed();
+        Object[] deepCursor = jdbcTemplate.queryForObject("SELECT check_in_date, id "
+                        + "FROM bookings WHERE user_id = ? ORDER BY check_in_date DESC, id DESC "
+                        + "OFFSET ? LIMIT 1",
+                (rs, rowNum) -> new Object[]{rs.getObject(1, LocalDate.class), rs.getLong(2)},
+                USER_ID, DEEP_PAGE * PAGE_SIZE - 1);
+
+        double offsetFirst = medianMillis(() -> bookingRepository.findByUserId(USER_ID,
+                PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST)));
+        double offsetDeep = medianMillis(() -> bookingRepository.findByUserId(USER_ID,
+                PageRequest.of(DEEP_PAGE, PAGE_SIZE, NEWEST_FIRST)));
+        double keysetFirst = medianMillis(() -> bookingRepository.findByUserIdBefore(USER_ID,
+                LocalDate.of(9999, 12, 31), Long.MAX_VALUE, PageRequest.of(0, PAGE_SIZE + 1)));
+        double keysetDeep = medianMillis(() -> bookingRepository.findByUserIdBefore(USER_ID,
+                (LocalDate) deepCursor[0], (Long) deepCursor[1],
+                PageRequest.of(0, PAGE_SIZE + 1)));
+        log.info("Bookings page 1 / page {}: offset={} / {} ms, keyset={} / {} ms",
+                DEEP_PAGE + 1, offsetFirst, offsetDeep, keysetFirst, keysetDeep);
+
+        assertThat(keysetDeep).isLessThanOrEqualTo(Math.max(keysetFirst * 2, 1.0));
+        assertThat(keysetDeep * 10).isLessThanOrEqualTo(offsetDeep);
+    }
+
+    @Test
+    @DisplayName("Admin keyset pagination should keep deep pages as fast as the first page")
+    void findResponses_AllBookingsDeepPage_MeetsLatencyTarget() {
+        seed();
+        Object[] deepCursor = jdbcTemplate.queryForObject("SELECT check_in_date, id "
+                        + "FROM bookings ORDER BY check_in_date DESC, id DESC OFFSET ? LIMIT 1",
+                (rs, rowNum) -> new Object[]{rs.getObject(1, LocalDate.class), rs.getLong(2)},
+                DEEP_PAGE * PAGE_SIZE - 1);
+        Specification<Booking> all = Specification.where(null);
+
+        double offsetFirst = medianMillis(() -> bookingRepository.findResponses(all,
+                PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST)));
+        double offsetDeep = medianMillis(() -> bookingRepository.findResponses(all,
+                PageRequest.of(DEEP_PAGE, PAGE_SIZE, NEWEST_FIRST)));
+        double keysetFirst = medianMillis(() -> bookingRepository.findResponses(all,
+                NEWEST_FIRST, PAGE_SIZE + 1));
+        double keysetDeep = medianMillis(() -> bookingRepository.findResponses(
+                all.and(BookingSpecificationBuilder.checkedInBefore(
+                        (LocalDate) deepCursor[0], (Long) deepCursor[1])),
+                NEWEST_FIRST, PAGE_SIZE + 1));
+        log.info("All bookings page 1 / page {}: offset={} / {} ms, keyset={} / {} ms",
+                DEEP_PAGE + 1, offsetFirst, offsetDeep, keysetFirst, keysetDeep);
+
+        assertThat(keysetDeep).isLessThanOrEqualTo(Math.max(keysetFirst * 2, 1.0));
+        assertThat(keysetDeep * 10).isLessThanOrEqualTo(offsetDeep);
+    }
+
+    private double medianMillis(Supplier<?> query) {
+        query.get();
+        double[] samples = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            query.get();
+            samples[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (1, 'benchmark@example.com', 'password', 'Bench', 'Mark')");
+        jdbcTemplate.update("INSERT INTO accommodations "
+                + "(id, type, location, size, daily_rate, availability) "
+                + "VALUES (1, 'HOTEL', 'City 1', 'Medium', 100.00, 1)");
+        // Three bookings per check-in date, so the id tiebreaker is exercised
+        jdbcTemplate.update("INSERT INTO bookings "
+                + "(id, check_in_date, check_out_date, accommodation_id, user_id, status) "
+                + "SELECT g, DATE '2000-01-01' + g / 3, DATE '2000-01-02' + g / 3, 1, 1, "
+                + "'CANCELED' FROM generate_series(1, ?) g", BOOKINGS);
+        jdbcTemplate.execute("ANALYZE bookings");
+    }
+}
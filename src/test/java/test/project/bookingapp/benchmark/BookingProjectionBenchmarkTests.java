@@ -0,0 +1,101 @@
+package test.project.bookingapp.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.management.ThreadMXBean;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import test.project.bookingapp.mapper.BookingMapper;
+import test.project.bookingapp.mapper.impl.BookingMapperImpl;
+import test.project.bookingapp.repository.booking.BookingRepository;
+
+/**
+ * Heap allocated per page of a user's bookings. Compares loading managed entities and mapping
+ * them, as {@code getMyBookings} used to, with selecting response rows directly. Target: the
+ * projection allocates at most 75% of the entity path. Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "/db/clean-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class BookingProjectionBenchmarkTests {
+    private static final double ALLOCATION_TARGET = 0.75;
+    private static final long USER_ID = 1L;
+    private static final int ACCOMMODATIONS = 50;
+    private static final int BOOKINGS = 2_000;
+    private static final int RUNS = 25;
+    private static final Pageable PAGE =
+            PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "checkInDate"));
+
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final ThreadMXBean threadMxBean =
+            (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Projected booking pages should allocate less than mapped entity pages")
+    void findResponsesByUserId_AllocatesLessThanEntities() {
+        seed();
+
+        long entityBytes = medianAllocatedBytes(() -> bookingRepository
+                .findByUserId(USER_ID, PAGE)
+                .map(bookingMapper::toBookingResponseDto));
+        long projectionBytes = medianAllocatedBytes(() -> bookingRepository
+                .findResponsesByUserId(USER_ID, PAGE));
+        log.info("Bytes allocated per page of {}: entities={}, projection={}",
+                PAGE.getPageSize(), entityBytes, projectionBytes);
+
+        assertThat((double) projectionBytes).isLessThanOrEqualTo(entityBytes * ALLOCATION_TARGET);
+    }
+
+    private long medianAllocatedBytes(Supplier<?> query) {
+        for (int i = 0; i < RUNS; i++) {
+            query.get();
+            entityManager.clear();
+        }
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = threadMxBean.getCurrentThreadAllocatedBytes();
+            query.get();
+            samples[i] = threadMxBean.getCurrentThreadAllocatedBytes() - start;
+            entityManager.clear();
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (1, 'benchmark@example.com', 'password', 'Bench', 'Mark')");
+        jdbcTemplate.update("INSERT INTO accommodations "
+                + "(id, type, location, size, daily_rate, availability) "
+                + "SELECT g, 'HOTEL', 'City ' || g, 'Medium', 100.00, 1 "
+                + "FROM generate_series(1, ?) g", ACCOMMODATIONS);
+        jdbcTemplate.update("INSERT INTO bookings "
+                + "(id, check_in_date, check_out_date, accommodation_id, user_id, status) "
+                + "SELECT g, DATE '2000-01-01' + g, DATE '2000-01-02' + g, 1 + g % ?, 1, "
+                + "'CONFIRMED' FROM generate_series(1, ?) g", ACCOMMODATIONS, BOOKINGS);
+        jdbcTemplate.execute("ANALYZE bookings");
+    }
+}
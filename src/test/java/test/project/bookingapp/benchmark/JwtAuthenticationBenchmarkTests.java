@@ -0,0 +1,110 @@
+package test.project.bookingapp.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import test.project.bookingapp.model.User;
+import test.project.bookingapp.utils.JwtUtils;
+
+/**
+ * Per-request JWT cost in the authentication filter. Compares the old path, which built a
+ * parser and verified the token once in {@code isValidToken} and again in
+ * {@code getUsername}, with a single {@link JwtUtils#parseClaims} on the cached parser.
+ * Target: the single parse costs at most 60% of the old path. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationBenchmarkTests {
+    private static final double COST_TARGET = 0.6;
+    private static final String SECRET =
+            "benchmarksecretkeyforjwttokengenerationbenchmarksecretkeyforjwt";
+
+    private Key key;
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtUtils = new JwtUtils(SECRET, 60_000L, Duration.ofHours(1));
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("benchmark@example.com");
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateThenParse() {
+        Claims validated = Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody();
+        if (validated.getExpiration().before(new Date())) {
+            throw new IllegalStateException("Token expired during the benchmark");
+        }
+        return Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String parseOnce() {
+        return jwtUtils.parseClaims(token).getSubject();
+    }
+
+    @Test
+    @DisplayName("Single-parse JWT validation should meet its cost target")
+    void parseClaims_CachedParser_MeetsCostTarget() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(getClass().getName() + "\\.(validateThenParse|parseOnce)$")
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        double before = score(results, "validateThenParse");
+        double after = score(results, "parseOnce");
+        log.info("JWT check: validate-then-parse={} us/op, parse-once={} us/op",
+                before, after);
+
+        assertThat(after).isLessThanOrEqualTo(before * COST_TARGET);
+    }
+
+    private double score(Collection<RunResult> results, String benchmark) {
+        return results.stream()
+                .filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+                .findFirst()
+                .orElseThrow()
+                .getPrimaryResult()
+                .getScore();
+    }
+}
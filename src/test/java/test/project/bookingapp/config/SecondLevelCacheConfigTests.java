@@ -0,0 +1,144 @@
+package test.project.bookingapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+import test.project.bookingapp.model.accommodation.Accommodation;
+import test.project.bookingapp.model.role.RoleName;
+import test.project.bookingapp.repository.AccommodationRepository;
+import test.project.bookingapp.repository.RoleRepository;
+import test.project.bookingapp.repository.UserRepository;
+import test.project.bookingapp.security.UserDetailsCache;
+
+/**
+ * Runs with the second-level cache switched on, which the other tests keep off because
+ * their fixtures are reloaded with plain SQL. Every test starts from empty regions.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"})
+@Sql(scripts = "/db/clean-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/db/add-test-users.sql", "/db/add-test-accommodations.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class SecondLevelCacheConfigTests {
+    @MockBean
+    private RestTemplate restTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    private SqlStatementCounter sqlStatementCounter;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        sqlStatementCounter = new SqlStatementCounter(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Repeated role lookups by name are served from the query cache")
+    void findRoleByName_RepeatedReads_NoStatements() {
+        roleRepository.findByName(RoleName.ROLE_CUSTOMER);
+        sqlStatementCounter.reset();
+
+        assertTrue(roleRepository.findByName(RoleName.ROLE_CUSTOMER).isPresent());
+        assertTrue(roleRepository.findByName(RoleName.ROLE_CUSTOMER).isPresent());
+
+        sqlStatementCounter.assertStatements(0);
+    }
+
+    @Test
+    @DisplayName("Repeated accommodation reads by id are served from the entity cache")
+    void findAccommodationById_RepeatedReads_NoStatements() {
+        accommodationRepository.findById(1L);
+        sqlStatementCounter.reset();
+
+        assertEquals("123 Main St",
+                accommodationRepository.findById(1L).orElseThrow().getLocation());
+
+        sqlStatementCounter.assertStatements(0);
+    }
+
+    @Test
+    @DisplayName("Reserving inventory does not evict cached accommodations")
+    void reserveInventory_KeepsCachedAccommodations() {
+        accommodationRepository.findById(1L);
+        transactionTemplate.executeWithoutResult(status -> accommodationRepository
+                .reserveInventory(1L, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3)));
+        sqlStatementCounter.reset();
+
+        accommodationRepository.findById(1L);
+
+        sqlStatementCounter.assertStatements(0);
+    }
+
+    @Test
+    @DisplayName("Updating an accommodation replaces the cached entry")
+    void updateAccommodation_ReadsNewState() {
+        Accommodation accommodation = accommodationRepository.findById(1L).orElseThrow();
+        accommodation.setDailyRate(new BigDecimal("175.00"));
+        accommodationRepository.save(accommodation);
+        sqlStatementCounter.reset();
+
+        Accommodation cached = accommodationRepository.findById(1L).orElseThrow();
+
+        assertEquals(0, new BigDecimal("175.00").compareTo(cached.getDailyRate()));
+        assertEquals(1L, cached.getVersion());
+        sqlStatementCounter.assertStatements(0);
+    }
+
+    @Test
+    @DisplayName("User roles are read from the collection and role caches")
+    void getUserRoles_RepeatedReads_OnlyLoadsUserRow() {
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(1L).orElseThrow().getRoles().size());
+        sqlStatementCounter.reset();
+
+        int roles = transactionTemplate.execute(status ->
+                userRepository.findById(1L).orElseThrow().getRoles().size());
+
+        // Users themselves are not cached, so only their own row is selected
+        assertEquals(1, roles);
+        sqlStatementCounter.assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("User cache notification from another node evicts cached user roles")
+    void userCacheNotification_EvictsUserRoles() {
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(1L).orElseThrow().getRoles().size());
+        userDetailsCache.onNotification("admin@example.com");
+        sqlStatementCounter.reset();
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(1L).orElseThrow().getRoles().size());
+
+        // The user row and the roles collection are both selected again
+        sqlStatementCounter.assertStatements(2);
+    }
+}
@@ -1,11 +1,13 @@
 package test.project.bookingapp.controller;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -24,6 +26,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
@@ -113,6 +116,19 @@ class AccommodationControllerTests {
                 .andExpect(content().json(objectMapper.writeValueAsString(page)));
     }
 
+    @Test
+    @DisplayName("Should return 304 when the catalog ETag matches")
+    void getAllAccommodations_MatchingEtag_ShouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/accommodations"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/accommodations")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("Should get accommodation by ID")
     void getAccommodationById_ShouldReturnAccommodation() throws Exception {
@@ -123,6 +139,48 @@ class AccommodationControllerTests {
                 .andExpect(jsonPath("$.location").value("123 Main St"));
     }
 
+    @Test
+    @DisplayName("Should return 304 without a body when the accommodation ETag matches")
+    void getAccommodationById_MatchingEtag_ShouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/accommodations/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        mockMvc.perform(get("/accommodations/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Should change the accommodation and catalog ETags on update")
+    @WithMockUser(roles = "ADMIN")
+    void updateAccommodation_ShouldChangeEtags() throws Exception {
+        String catalogEtag = mockMvc.perform(get("/accommodations"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        AccommodationRequestDto updateRequest = new AccommodationRequestDto(
+                AccommodationType.APARTMENT, "456 Elm St", "2 Bedroom",
+                List.of("WiFi"), new BigDecimal("120.0"), 3);
+
+        mockMvc.perform(put("/accommodations/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/accommodations/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.location").value("456 Elm St"));
+        mockMvc.perform(get("/accommodations")
+                        .header(HttpHeaders.IF_NONE_MATCH, catalogEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(catalogEtag)));
+    }
+
     @Test
     @DisplayName("Should update accommodation")
     @WithMockUser(roles = "ADMIN")
@@ -0,0 +1,143 @@
+package test.project.bookingapp.controller;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.WebApplicationContext;
+import test.project.bookingapp.config.SqlStatementCounter;
+import test.project.bookingapp.config.WithMockCustomUser;
+import test.project.bookingapp.model.role.RoleName;
+
+/**
+ * Pins the number of SQL statements per listing endpoint. The fixture spreads bookings over
+ * several users, so loading an association per row would exceed these counts.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Sql(scripts = "/db/clean-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/db/add-test-payments.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class SqlStatementCountTests {
+    protected static MockMvc mockMvc;
+    private static SqlStatementCounter sqlStatementCounter;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext,
+                          @Autowired EntityManagerFactory entityManagerFactory) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+        sqlStatementCounter = new SqlStatementCounter(entityManagerFactory);
+    }
+
+    @BeforeEach
+    void setUp() {
+        sqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Admin booking search runs a single query")
+    @WithMockCustomUser(id = 1L, role = RoleName.ROLE_ADMIN)
+    void getBookingsByUserAndStatus_SingleStatement() throws Exception {
+        mockMvc.perform(get("/bookings").param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5));
+
+        sqlStatementCounter.assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("Booking keyset page runs a single query")
+    @WithMockCustomUser(id = 1L, role = RoleName.ROLE_ADMIN)
+    void scrollBookingsByUserAndStatus_SingleStatement() throws Exception {
+        mockMvc.perform(get("/bookings/scroll").param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5));
+
+        sqlStatementCounter.assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("Customer booking list runs a single query")
+    @WithMockCustomUser(id = 3L)
+    void getMyBookings_SingleStatement() throws Exception {
+        mockMvc.perform(get("/bookings/my"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3));
+
+        sqlStatementCounter.assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("Customer booking keyset page runs a single query")
+    @WithMockCustomUser(id = 3L)
+    void scrollMyBookings_SingleStatement() throws Exception {
+        mockMvc.perform(get("/bookings/my/scroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3));
+
+        sqlStatementCounter.assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("Admin payment list runs a single query")
+    @WithMockCustomUser(id = 1L, role = RoleName.ROLE_ADMIN)
+    void getPayments_Admin_SingleStatement() throws Exception {
+        mockMvc.perform(get("/payments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5));
+
+        sqlStatementCounter.assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("Customer payment list runs a single query")
+    @WithMockCustomUser(id = 3L)
+    void getPayments_Customer_SingleStatement() throws Exception {
+        mockMvc.perform(get("/payments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+
+        sqlStatementCounter.assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("Payment keyset page runs a single query")
+    @WithMockCustomUser(id = 1L, role = RoleName.ROLE_ADMIN)
+    void scrollPayments_SingleStatement() throws Exception {
+        mockMvc.perform(get("/payments/scroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5));
+
+        sqlStatementCounter.assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("Payment cancel page loads the payment, booking and user in one query")
+    @WithMockCustomUser(id = 1L)
+    void handlePaymentCancel_SingleStatement() throws Exception {
+        mockMvc.perform(get("/payments/cancel").param("sessionId", "test-session-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingId").value(1L));
+
+        sqlStatementCounter.assertStatements(1);
+    }
+}
@@ -0,0 +1,104 @@
+package test.project.bookingapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test.project.bookingapp.model.accommodation.Accommodation;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Sql(scripts = "/db/clean-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/db/add-test-bookings.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AccommodationRepositoryTests {
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 10, Sort.by("id"));
+    private static final String[] NO_AMENITIES = new String[0];
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Find only accommodations with a free unit on every night of the range")
+    void shouldFindAvailableAccommodations() {
+        LocalDate checkIn = LocalDate.of(2025, 6, 3);
+        LocalDate checkOut = LocalDate.of(2025, 6, 5);
+
+        assertThat(accommodationRepository.findAvailable(checkIn, checkOut, null, null,
+                NO_AMENITIES, PAGE_REQUEST))
+                .extracting(Accommodation::getId).containsExactly(10L, 11L);
+
+        jdbcTemplate.update("UPDATE accommodations SET availability = 1 WHERE id = 10");
+        Slice<Accommodation> available = accommodationRepository.findAvailable(
+                checkIn, checkOut, null, null, NO_AMENITIES, PAGE_REQUEST);
+
+        assertThat(available).extracting(Accommodation::getId).containsExactly(11L);
+    }
+
+    @Test
+    @DisplayName("Ignore canceled bookings and allow check-in on a check-out day")
+    void shouldIgnoreCanceledAndTurnoverBookings() {
+        Slice<Accommodation> available = accommodationRepository.findAvailable(
+                LocalDate.of(2025, 2, 18), LocalDate.of(2025, 2, 20), null, null, NO_AMENITIES,
+                PAGE_REQUEST);
+
+        assertThat(available).extracting(Accommodation::getId).containsExactly(10L, 11L);
+    }
+
+    @Test
+    @DisplayName("Filter available accommodations by type and location")
+    void shouldFilterAvailableAccommodationsByTypeAndLocation() {
+        LocalDate checkIn = LocalDate.of(2025, 9, 1);
+        LocalDate checkOut = LocalDate.of(2025, 9, 3);
+
+        assertThat(accommodationRepository.findAvailable(checkIn, checkOut, "APARTMENT", null,
+                NO_AMENITIES, PAGE_REQUEST))
+                .extracting(Accommodation::getId).containsExactly(11L);
+        assertThat(accommodationRepository.findAvailable(checkIn, checkOut, null, "york",
+                NO_AMENITIES, PAGE_REQUEST))
+                .extracting(Accommodation::getId).containsExactly(10L);
+    }
+
+    @Test
+    @DisplayName("Keep only accommodations that have every requested amenity")
+    void shouldFilterAvailableAccommodationsByAmenities() {
+        LocalDate checkIn = LocalDate.of(2025, 9, 1);
+        LocalDate checkOut = LocalDate.of(2025, 9, 3);
+
+        assertThat(accommodationRepository.findAvailable(checkIn, checkOut, null, null,
+                new String[]{"Kitchen", "Balcony"}, PAGE_REQUEST))
+                .extracting(Accommodation::getId).containsExactly(11L);
+        assertThat(accommodationRepository.findAvailable(checkIn, checkOut, null, null,
+                new String[]{"Kitchen", "Swimming Pool"}, PAGE_REQUEST)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reserve inventory until every unit is taken, then release it again")
+    void shouldReserveAndReleaseInventory() {
+        LocalDate checkIn = LocalDate.of(2025, 7, 12);
+        LocalDate checkOut = LocalDate.of(2025, 7, 14);
+
+        assertThat(accommodationRepository.reserveInventory(11L, checkIn, checkOut)).isEqualTo(2);
+        assertThat(accommodationRepository.reserveInventory(11L, checkIn, checkOut)).isEqualTo(2);
+        assertThat(accommodationRepository.reserveInventory(11L, checkIn, checkOut)).isZero();
+        assertThat(accommodationRepository.reserveInventory(11L, checkOut, checkOut.plusDays(2)))
+                .isEqualTo(2);
+
+        assertThat(accommodationRepository.releaseInventory(11L, checkIn, checkOut))
+                .isEqualTo(2);
+        assertThat(accommodationRepository.reserveInventory(11L, checkIn, checkOut)).isEqualTo(2);
+    }
+}
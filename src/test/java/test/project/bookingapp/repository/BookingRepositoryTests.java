@@ -18,6 +18,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import test.project.bookingapp.model.booking.Booking;
 import test.project.bookingapp.model.booking.BookingStatus;
 import test.project.bookingapp.repository.booking.BookingRepository;
+import test.project.bookingapp.service.availability.BookedStay;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
@@ -52,29 +53,6 @@ class BookingRepositoryTests {
                 booking -> booking.getStatus() == TEST_STATUS_PENDING);
     }
 
-    @Test
-    @DisplayName("Find overlapping bookings for a given accommodation and date range")
-    void shouldFindOverlappingBookings() {
-        LocalDate checkIn = LocalDate.of(2025, 6, 1);
-        LocalDate checkOut = LocalDate.of(2025, 6, 7);
-
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
-                TEST_ACCOMMODATION_ID, checkIn, checkOut);
-        assertThat(overlappingBookings).isNotEmpty().allMatch(
-                booking -> booking.getAccommodation().getId().equals(TEST_ACCOMMODATION_ID));
-    }
-
-    @Test
-    @DisplayName("Should return no overlapping bookings for a non-overlapping date range")
-    void shouldReturnNoOverlappingBookingsForNonOverlappingDates() {
-        LocalDate checkIn = LocalDate.of(2025, 7, 1);
-        LocalDate checkOut = LocalDate.of(2025, 7, 7);
-
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
-                TEST_ACCOMMODATION_ID, checkIn, checkOut);
-        assertThat(overlappingBookings).isEmpty();
-    }
-
     @Test
     @DisplayName("Find booking by ID")
     void shouldFindBookingById() {
@@ -98,26 +76,38 @@ class BookingRepositoryTests {
     }
 
     @Test
-    @DisplayName("Find expired bookings that are not canceled")
-    void shouldFindExpiredBookings() {
-        LocalDate thresholdDate = LocalDate.now().minusDays(1);
-        List<Booking> expiredBookings = bookingRepository.findByCheckOutDateBeforeAndStatusNot(
-                thresholdDate, BookingStatus.CANCELED);
-
-        assertThat(expiredBookings).isNotEmpty().allMatch(booking ->
-                booking.getCheckOutDate().isBefore(thresholdDate)
-                        && booking.getStatus() != BookingStatus.CANCELED
-        );
+    @DisplayName("Find active stays that checked out before the threshold")
+    void shouldFindStaysToExpire() {
+        LocalDate thresholdDate = LocalDate.of(2025, 7, 1);
+        List<BookedStay> stays = bookingRepository.findStaysToExpire(thresholdDate,
+                List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED), PAGE_REQUEST);
+
+        assertThat(stays).extracting(BookedStay::bookingId).containsExactlyInAnyOrder(100L, 102L);
+    }
+
+    @Test
+    @DisplayName("Expire only active bookings of the given accommodations")
+    void shouldExpireActiveBookings() {
+        LocalDate thresholdDate = LocalDate.of(2025, 8, 1);
+        List<Long> expiredIds = bookingRepository.expireBookings(List.of(100L, 101L, 102L, 103L),
+                List.of(TEST_ACCOMMODATION_ID), thresholdDate);
+
+        assertThat(expiredIds).containsExactlyInAnyOrder(100L, 102L);
+        assertThat(bookingRepository.findAllById(List.of(100L, 101L, 103L)))
+                .extracting(Booking::getStatus)
+                .containsExactlyInAnyOrder(BookingStatus.EXPIRED, BookingStatus.CONFIRMED,
+                        BookingStatus.CANCELED);
     }
 
     @Test
-    @DisplayName("Find no overlapping bookings for a non-existent accommodation")
-    void shouldNotFindOverlappingBookingsForNonExistentAccommodation() {
-        LocalDate checkIn = LocalDate.of(2025, 6, 1);
-        LocalDate checkOut = LocalDate.of(2025, 6, 7);
-
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
-                NON_EXISTENT_BOOKING_ID, checkIn, checkOut);
-        assertThat(overlappingBookings).isEmpty();
+    @DisplayName("Expiry sees booking changes still pending in the persistence context")
+    void shouldFlushPendingChangesBeforeExpiring() {
+        Booking booking = bookingRepository.findById(EXISTING_BOOKING_ID).orElseThrow();
+        booking.setStatus(BookingStatus.CANCELED);
+
+        List<Long> expiredIds = bookingRepository.expireBookings(List.of(EXISTING_BOOKING_ID),
+                List.of(TEST_ACCOMMODATION_ID), LocalDate.of(2025, 8, 1));
+
+        assertThat(expiredIds).isEmpty();
     }
 }
@@ -2,6 +2,8 @@ package test.project.bookingapp.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -97,4 +99,16 @@ class PaymentRepositoryTests {
                 DEFAULT_PAGE);
         assertThat(payments).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should expire only pending payments past their session expiry")
+    void shouldExpirePendingPaymentsPastExpiry() {
+        int expired = paymentRepository.expirePendingPayments(Instant.now(), 10);
+
+        assertThat(expired).isEqualTo(1);
+        assertThat(paymentRepository.findAllById(List.of(1L, 2L, 3L)))
+                .extracting(Payment::getStatus)
+                .containsExactlyInAnyOrder(PaymentStatus.EXPIRED, PaymentStatus.PAID,
+                        PaymentStatus.PENDING);
+    }
 }
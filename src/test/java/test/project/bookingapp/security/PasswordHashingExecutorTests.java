@@ -0,0 +1,73 @@
+package test.project.bookingapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.project.bookingapp.exception.ServiceUnavailableException;
+
+class PasswordHashingExecutorTests {
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Submitted work runs off the calling thread and returns its result")
+    void submit_Task_ReturnsResult() {
+        String caller = Thread.currentThread().getName();
+
+        String worker = executor.submit(() -> Thread.currentThread().getName()).join();
+
+        assertThat(worker).startsWith("password-hashing-").isNotEqualTo(caller);
+    }
+
+    @Test
+    @DisplayName("Work beyond the pool and its queue is rejected with a retry hint")
+    void submit_PoolAndQueueFull_ThrowsServiceUnavailable() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            return await(release);
+        });
+        started.await();
+        final CompletableFuture<Boolean> queued = executor.submit(() -> true);
+
+        ServiceUnavailableException exception = assertThrows(
+                ServiceUnavailableException.class, () -> executor.submit(() -> true));
+
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        release.countDown();
+        assertThat(running.join()).isTrue();
+        assertThat(queued.join()).isTrue();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            latch.await();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
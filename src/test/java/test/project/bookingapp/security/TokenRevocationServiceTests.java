@@ -0,0 +1,107 @@
+package test.project.bookingapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import test.project.bookingapp.model.RevokedToken;
+import test.project.bookingapp.repository.RevokedTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTests {
+    private static final String TOKEN_ID = "0b6f3e0e-5f0c-4d59-9a57-8f3c1d1f2a11";
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository,
+                jdbcTemplate, new SimpleMeterRegistry(), 1000, Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Token that was never revoked is accepted without a database lookup")
+    void isRevoked_UnknownToken_SkipsDatabase() {
+        assertFalse(tokenRevocationService.isRevoked(TOKEN_ID));
+        verify(revokedTokenRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    @DisplayName("Revoked token is stored, broadcast and rejected")
+    void revoke_Token_IsRejectedAfterwards() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(revokedTokenRepository.existsById(TOKEN_ID)).thenReturn(true);
+
+        tokenRevocationService.revoke(TOKEN_ID, expiresAt);
+
+        assertTrue(tokenRevocationService.isRevoked(TOKEN_ID));
+        verify(revokedTokenRepository).insertIfAbsent(TOKEN_ID, expiresAt);
+        verify(jdbcTemplate).queryForList("SELECT pg_notify(?, ?)",
+                TokenRevocationService.REVOCATION_CHANNEL, TOKEN_ID);
+    }
+
+    @Test
+    @DisplayName("Rebuild loads active revocations and drops expired rows")
+    void rebuild_ActiveRevocations_AreRejected() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of(TOKEN_ID));
+        when(revokedTokenRepository.findTokenIdsRevokedSince(any())).thenReturn(List.of());
+        when(revokedTokenRepository.existsById(TOKEN_ID)).thenReturn(true);
+
+        tokenRevocationService.rebuild();
+
+        assertTrue(tokenRevocationService.isRevoked(TOKEN_ID));
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    @DisplayName("Revoking a user rejects the tokens issued to them so far")
+    void revokeAllFor_User_RejectsEarlierTokens() {
+        Instant issuedAt = Instant.now();
+
+        tokenRevocationService.revokeAllFor(1L);
+
+        assertTrue(tokenRevocationService.isRevoked(1L, issuedAt));
+        assertFalse(tokenRevocationService.isRevoked(1L, issuedAt.plusSeconds(2)));
+        assertFalse(tokenRevocationService.isRevoked(2L, issuedAt));
+        verify(revokedTokenRepository).upsertCutoff(eq("user:1"), any(), any());
+        verify(jdbcTemplate).queryForList("SELECT pg_notify(?, ?)",
+                TokenRevocationService.REVOCATION_CHANNEL, "user:1");
+    }
+
+    @Test
+    @DisplayName("User revocation from another node is read back from the table")
+    void onNotification_UserKey_LoadsCutoff() {
+        Instant cutoff = Instant.now();
+        RevokedToken row = new RevokedToken();
+        row.setTokenId("user:1");
+        row.setExpiresAt(cutoff.plusSeconds(600));
+        row.setRevokedAt(cutoff);
+        when(revokedTokenRepository.findById("user:1")).thenReturn(Optional.of(row));
+
+        tokenRevocationService.onNotification("user:1");
+
+        assertTrue(tokenRevocationService.isRevoked(1L, cutoff.minusSeconds(1)));
+        assertFalse(tokenRevocationService.isRevoked(1L, cutoff));
+    }
+}
@@ -0,0 +1,136 @@
+package test.project.bookingapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import test.project.bookingapp.model.User;
+import test.project.bookingapp.model.role.Role;
+import test.project.bookingapp.model.role.RoleName;
+import test.project.bookingapp.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsCacheTests {
+    private static final Long USER_ID = 1L;
+    private static final String EMAIL = "user@example.com";
+    private static final String PASSWORD_HASH = "$2a$10$hash";
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private SessionFactory sessionFactory;
+    @Mock
+    private Cache secondLevelCache;
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetailsCache userDetailsCache;
+    private CustomUserDetailsService userDetailsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache(jdbcTemplate, sessionFactory, meterRegistry, 100,
+                Duration.ofMinutes(5));
+        userDetailsService = new CustomUserDetailsService(userRepository, userDetailsCache);
+        user = new User();
+        user.setId(USER_ID);
+        user.setEmail(EMAIL);
+        user.setPassword(PASSWORD_HASH);
+        user.getRoles().add(new Role(1L, RoleName.ROLE_CUSTOMER));
+    }
+
+    @Test
+    @DisplayName("Repeated lookups of the same user hit the database once")
+    void loadUserByUsername_RepeatedLookups_LoadsOnce() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Every lookup gets its own copy that changes cannot leak from")
+    void loadUserByUsername_ModifiedCopy_DoesNotChangeCachedUser() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        User first = (User) userDetailsService.loadUserByUsername(EMAIL);
+        first.setPassword("tampered");
+        first.getRoles().add(new Role(2L, RoleName.ROLE_ADMIN));
+        user.setPassword("changed-after-load");
+
+        User second = (User) userDetailsService.loadUserByUsername(EMAIL);
+
+        assertNotSame(first, second);
+        assertEquals(USER_ID, second.getId());
+        assertEquals(EMAIL, second.getEmail());
+        assertEquals(PASSWORD_HASH, second.getPassword());
+        assertEquals(Set.of(RoleName.ROLE_CUSTOMER), second.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Invalidation evicts the user locally and notifies other nodes")
+    void invalidate_CachedUser_ReloadsAndNotifies() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        userDetailsCache.invalidate(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+        verify(jdbcTemplate).queryForList("SELECT pg_notify(?, ?)",
+                UserDetailsCache.INVALIDATION_CHANNEL, EMAIL);
+    }
+
+    @Test
+    @DisplayName("Notification from another node evicts the user and the cached roles")
+    void onNotification_EvictsUserAndRoles() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(sessionFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        userDetailsCache.onNotification(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+        verify(secondLevelCache).evictCollectionData(UserDetailsCache.ROLES_COLLECTION);
+    }
+
+    @Test
+    @DisplayName("Upgraded password hash is stored and the cached user is evicted")
+    void updatePassword_UpgradedHash_SavesAndEvicts() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        userDetailsService.updatePassword(user, "$2a$12$upgraded");
+
+        assertEquals("$2a$12$upgraded", user.getPassword());
+        verify(jdbcTemplate).queryForList("SELECT pg_notify(?, ?)",
+                UserDetailsCache.INVALIDATION_CHANNEL, EMAIL);
+    }
+}
@@ -1,14 +1,22 @@
 package test.project.bookingapp.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -16,21 +24,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jmx.export.notification.UnableToSendNotificationException;
+import test.project.bookingapp.dto.accommodationdtos.AccommodationAvailabilityDto;
 import test.project.bookingapp.dto.accommodationdtos.AccommodationRequestDto;
 import test.project.bookingapp.dto.accommodationdtos.AccommodationResponseDto;
+import test.project.bookingapp.dto.accommodationdtos.AccommodationSearchParametersDto;
+import test.project.bookingapp.exception.BookingDataException;
 import test.project.bookingapp.exception.EntityNotFoundException;
 import test.project.bookingapp.mapper.AccommodationMapper;
 import test.project.bookingapp.model.accommodation.Accommodation;
 import test.project.bookingapp.model.accommodation.AccommodationType;
 import test.project.bookingapp.repository.AccommodationRepository;
+import test.project.bookingapp.service.catalog.AccommodationCatalogCache;
+import test.project.bookingapp.service.catalog.Versioned;
 
 @ExtendWith(MockitoExtension.class)
 class AccommodationServiceTests {
@@ -40,7 +56,10 @@ class AccommodationServiceTests {
     private AccommodationMapper accommodationMapper;
     @Mock
     private ApplicationEventPublisher eventPublisher;
-    @InjectMocks
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
     private AccommodationService accommodationService;
 
     private Accommodation accommodation;
@@ -49,6 +68,10 @@ class AccommodationServiceTests {
 
     @BeforeEach
     void setUp() {
+        accommodationService = new AccommodationService(accommodationRepository,
+                accommodationMapper, eventPublisher,
+                new AccommodationCatalogCache(jdbcTemplate, entityManagerFactory,
+                        new SimpleMeterRegistry(), 100, 10, Duration.ofMinutes(10)));
         accommodation = new Accommodation();
         accommodation.setId(1L);
         accommodation.setType(AccommodationType.HOUSE);
@@ -56,6 +79,7 @@ class AccommodationServiceTests {
         accommodation.setSize("3 Bedroom");
         accommodation.setDailyRate(new BigDecimal("150.00"));
         accommodation.setAvailability(5);
+        accommodation.setVersion(2L);
 
         accommodationRequestDto = new AccommodationRequestDto(
                 AccommodationType.HOUSE,
@@ -95,15 +119,17 @@ class AccommodationServiceTests {
     @DisplayName("Get All Accommodations")
     void getAllAccommodations() {
         Page<Accommodation> accommodations = new PageImpl<>(List.of(accommodation));
+        when(accommodationRepository.findCatalogVersion()).thenReturn(7L);
         when(accommodationRepository.findAll(any(Pageable.class))).thenReturn(accommodations);
         when(accommodationMapper.toDto(accommodation)).thenReturn(accommodationResponseDto);
 
-        Page<AccommodationResponseDto> response =
+        Versioned<Page<AccommodationResponseDto>> response =
                 accommodationService.getAllAccommodations(Pageable.unpaged());
 
         assertNotNull(response);
-        assertEquals(1, response.getTotalElements());
-        assertEquals(accommodationResponseDto.id(), response.getContent().get(0).id());
+        assertEquals("\"7\"", response.etag());
+        assertEquals(1, response.value().getTotalElements());
+        assertEquals(accommodationResponseDto.id(), response.value().getContent().get(0).id());
     }
 
     @Test
@@ -112,13 +138,44 @@ class AccommodationServiceTests {
         when(accommodationRepository.findById(1L)).thenReturn(Optional.of(accommodation));
         when(accommodationMapper.toDto(accommodation)).thenReturn(accommodationResponseDto);
 
-        AccommodationResponseDto response = accommodationService.getAccommodationById(1L);
+        Versioned<AccommodationResponseDto> response =
+                accommodationService.getAccommodationById(1L);
 
         assertNotNull(response);
-        assertEquals(accommodationResponseDto.id(), response.id());
+        assertEquals(2L, response.version());
+        assertEquals(accommodationResponseDto.id(), response.value().id());
         verify(accommodationRepository).findById(1L);
     }
 
+    @Test
+    @DisplayName("Get Accommodation By ID - Repeated Reads Are Served From The Cache")
+    void getAccommodationById_RepeatedReads_LoadsOnce() {
+        when(accommodationRepository.findById(1L)).thenReturn(Optional.of(accommodation));
+        when(accommodationMapper.toDto(accommodation)).thenReturn(accommodationResponseDto);
+
+        accommodationService.getAccommodationById(1L);
+
+        assertSame(accommodationResponseDto,
+                accommodationService.getAccommodationById(1L).value());
+        verify(accommodationRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Update Accommodation - Evicts The Cached Accommodation And Notifies Other Nodes")
+    void updateAccommodation_CachedAccommodation_ReloadsAndNotifies() {
+        when(accommodationRepository.findById(1L)).thenReturn(Optional.of(accommodation));
+        when(accommodationRepository.save(accommodation)).thenReturn(accommodation);
+        when(accommodationMapper.toDto(accommodation)).thenReturn(accommodationResponseDto);
+        accommodationService.getAccommodationById(1L);
+
+        accommodationService.updateAccommodation(1L, accommodationRequestDto);
+        accommodationService.getAccommodationById(1L);
+
+        verify(accommodationRepository, times(3)).findById(1L);
+        verify(jdbcTemplate).queryForList("SELECT pg_notify(?, ?)",
+                "accommodation_cache_invalidation", "1");
+    }
+
     @Test
     @DisplayName("Get Accommodation By ID - Entity Not Found")
     void getAccommodationById_NotFound() {
@@ -206,5 +263,87 @@ class AccommodationServiceTests {
 
         assertEquals("Accommodation not found with id: 1", exception.getMessage());
     }
-}
 
+    @Test
+    @DisplayName("Check Availability - Answered From The Inventory")
+    void checkAvailability_UsesInventory() {
+        LocalDate checkIn = LocalDate.of(2030, 1, 1);
+        LocalDate checkOut = checkIn.plusDays(3);
+        when(accommodationRepository.hasRoom(1L, checkIn, checkOut))
+                .thenReturn(Optional.of(false));
+
+        AccommodationAvailabilityDto result =
+                accommodationService.checkAvailability(1L, checkIn, checkOut);
+
+        assertEquals(new AccommodationAvailabilityDto(1L, checkIn, checkOut, false), result);
+    }
+
+    @Test
+    @DisplayName("Check Availability - Entity Not Found")
+    void checkAvailability_NotFound() {
+        LocalDate checkIn = LocalDate.of(2030, 1, 1);
+        when(accommodationRepository.hasRoom(1L, checkIn, checkIn.plusDays(1)))
+                .thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> accommodationService.checkAvailability(1L, checkIn, checkIn.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Check Availability - Invalid Date Range")
+    void checkAvailability_InvalidRange() {
+        LocalDate checkIn = LocalDate.of(2030, 1, 1);
+
+        assertThrows(BookingDataException.class,
+                () -> accommodationService.checkAvailability(1L, checkIn, checkIn));
+    }
+
+    @Test
+    @DisplayName("Search Available Accommodations - Normalized Filters")
+    void searchAvailableAccommodations_NormalizesFilters() {
+        LocalDate checkIn = LocalDate.of(2030, 1, 1);
+        LocalDate checkOut = checkIn.plusDays(3);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(accommodationRepository.findAvailable(checkIn, checkOut, "HOUSE", "Main St",
+                new String[]{"WiFi"}, pageable))
+                .thenReturn(new SliceImpl<>(List.of(accommodation), pageable, false));
+        when(accommodationMapper.toDto(accommodation)).thenReturn(accommodationResponseDto);
+
+        Slice<AccommodationResponseDto> result = accommodationService
+                .searchAvailableAccommodations(new AccommodationSearchParametersDto(
+                        checkIn, checkOut, AccommodationType.HOUSE, "  Main St ",
+                        List.of(" WiFi ", " ")), pageable);
+
+        assertEquals(List.of(accommodationResponseDto), result.getContent());
+    }
+
+    @Test
+    @DisplayName("Search Available Accommodations - Missing Dates")
+    void searchAvailableAccommodations_MissingDates() {
+        AccommodationSearchParametersDto searchParams =
+                new AccommodationSearchParametersDto(null, null, null, null, null);
+
+        assertThrows(BookingDataException.class, () -> accommodationService
+                .searchAvailableAccommodations(searchParams, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @DisplayName("Reserve Inventory - Every Night Taken")
+    void reserveInventory_AllNightsTaken() {
+        LocalDate checkIn = LocalDate.of(2030, 1, 1);
+        when(accommodationRepository.reserveInventory(1L, checkIn, checkIn.plusDays(3)))
+                .thenReturn(3);
+
+        assertTrue(accommodationService.reserveInventory(1L, checkIn, checkIn.plusDays(3)));
+    }
+
+    @Test
+    @DisplayName("Reserve Inventory - Sold Out Night")
+    void reserveInventory_SoldOutNight() {
+        LocalDate checkIn = LocalDate.of(2030, 1, 1);
+        when(accommodationRepository.reserveInventory(1L, checkIn, checkIn.plusDays(3)))
+                .thenReturn(2);
+
+        assertFalse(accommodationService.reserveInventory(1L, checkIn, checkIn.plusDays(3)));
+    }
+}
@@ -4,16 +4,20 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.context.ApplicationEventPublisher;
@@ -22,9 +26,11 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import test.project.bookingapp.dto.CursorPage;
 import test.project.bookingapp.dto.bookingdtos.BookingRequestDto;
 import test.project.bookingapp.dto.bookingdtos.BookingResponseDto;
 import test.project.bookingapp.dto.bookingdtos.BookingSearchParametersDto;
+import test.project.bookingapp.exception.BookingConflictException;
 import test.project.bookingapp.exception.EntityNotFoundException;
 import test.project.bookingapp.exception.InvalidStatusException;
 import test.project.bookingapp.mapper.BookingMapper;
@@ -36,7 +42,10 @@ import test.project.bookingapp.model.payment.PaymentStatus;
 import test.project.bookingapp.repository.PaymentRepository;
 import test.project.bookingapp.repository.booking.BookingRepository;
 import test.project.bookingapp.repository.booking.specification.BookingSpecificationBuilder;
+import test.project.bookingapp.service.availability.BookedStay;
 import test.project.bookingapp.service.impl.JwtAuthenticationService;
+import test.project.bookingapp.service.lock.AccommodationLockManager;
+import test.project.bookingapp.utils.KeysetCursor;
 
 class BookingServiceTests {
     private static final Long USER_ID = 1L;
@@ -60,6 +69,8 @@ class BookingServiceTests {
     private BookingSpecificationBuilder bookingSpecificationBuilder;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private AccommodationLockManager accommodationLockManager;
     private BookingService bookingService;
 
     @BeforeEach
@@ -68,7 +79,7 @@ class BookingServiceTests {
         bookingService = new BookingService(bookingRepository,
                 jwtAuthenticationService, accommodationService,
                 bookingMapper, bookingSpecificationBuilder,
-                eventPublisher, paymentRepository);
+                eventPublisher, paymentRepository, accommodationLockManager);
     }
 
     @Test
@@ -76,6 +87,7 @@ class BookingServiceTests {
     void testCreateBooking_ShouldReturnBookingResponseDto_WhenBookingIsCreated() {
         Accommodation mockAccommodation = new Accommodation();
         mockAccommodation.setId(ACCOMMODATION_ID);
+        mockAccommodation.setAvailability(1);
         BookingRequestDto request = new BookingRequestDto(CHECK_IN_DATE,
                 CHECK_OUT_DATE, ACCOMMODATION_ID);
 
@@ -92,13 +104,14 @@ class BookingServiceTests {
 
         when(paymentRepository.existsByBooking_User_IdAndStatus(USER_ID,
                 PaymentStatus.PENDING)).thenReturn(false);
-        when(accommodationService.findAccommodationById(request.accommodationId()))
-                .thenReturn(mockAccommodation);
+        when(accommodationService.getReference(ACCOMMODATION_ID)).thenReturn(mockAccommodation);
         when(jwtAuthenticationService.findUserById(USER_ID)).thenReturn(mockUser);
         when(bookingMapper.toBookingEntity(request, mockUser,
                 mockAccommodation, BookingStatus.PENDING))
                 .thenReturn(mockBooking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(mockBooking);
+        when(accommodationService.reserveInventory(ACCOMMODATION_ID, CHECK_IN_DATE,
+                CHECK_OUT_DATE)).thenReturn(true);
         when(bookingMapper.toBookingResponseDto(mockBooking)).thenReturn(
                 new BookingResponseDto(
                         BOOKING_ID,
@@ -118,6 +131,42 @@ class BookingServiceTests {
         assertThat(result.accommodationId()).isEqualTo(ACCOMMODATION_ID);
         assertThat(result.userId()).isEqualTo(USER_ID);
         verify(bookingRepository).save(any(Booking.class));
+        verify(accommodationService).reserveInventory(ACCOMMODATION_ID, CHECK_IN_DATE,
+                CHECK_OUT_DATE);
+        InOrder inOrder = inOrder(accommodationLockManager, accommodationService);
+        inOrder.verify(accommodationLockManager).lockForTransaction(ACCOMMODATION_ID);
+        inOrder.verify(accommodationService).getReference(ACCOMMODATION_ID);
+    }
+
+    @Test
+    @DisplayName("Should throw BookingConflictException when a night of the stay is sold out")
+    void testCreateBooking_ShouldThrowConflict_WhenInventoryIsSoldOut() {
+        Accommodation mockAccommodation = new Accommodation();
+        mockAccommodation.setId(ACCOMMODATION_ID);
+        mockAccommodation.setAvailability(3);
+        User mockUser = new User();
+        mockUser.setId(USER_ID);
+        Booking mockBooking = new Booking();
+        mockBooking.setCheckInDate(CHECK_IN_DATE);
+        mockBooking.setCheckOutDate(CHECK_OUT_DATE);
+        mockBooking.setAccommodation(mockAccommodation);
+        mockBooking.setStatus(STATUS_PENDING);
+        BookingRequestDto request = new BookingRequestDto(CHECK_IN_DATE,
+                CHECK_OUT_DATE, ACCOMMODATION_ID);
+
+        when(accommodationService.getReference(ACCOMMODATION_ID)).thenReturn(mockAccommodation);
+        when(jwtAuthenticationService.findUserById(USER_ID)).thenReturn(mockUser);
+        when(bookingMapper.toBookingEntity(request, mockUser,
+                mockAccommodation, BookingStatus.PENDING))
+                .thenReturn(mockBooking);
+        when(bookingRepository.save(mockBooking)).thenReturn(mockBooking);
+        when(accommodationService.reserveInventory(ACCOMMODATION_ID, CHECK_IN_DATE,
+                CHECK_OUT_DATE)).thenReturn(false);
+
+        assertThatThrownBy(() -> bookingService.createBooking(USER_ID, request))
+                .isInstanceOf(BookingConflictException.class)
+                .hasMessage("Accommodation 1 is already booked from "
+                        + CHECK_IN_DATE + " to " + CHECK_OUT_DATE + ".");
     }
 
     @Test
@@ -177,18 +226,15 @@ class BookingServiceTests {
     void testGetBookingsByUserAndStatus_ShouldReturnBookingPage_WhenBookingsExist() {
         BookingSearchParametersDto searchParams = new BookingSearchParametersDto(
                 USER_ID, STATUS_PENDING);
-        Booking mockBooking = new Booking();
-        mockBooking.setId(BOOKING_ID);
-        mockBooking.setStatus(STATUS_PENDING);
         Pageable pageable = PageRequest.of(0, 10);
 
         when(bookingSpecificationBuilder.build(searchParams)).thenReturn(Specification.where(
                 null));
-        Page<Booking> page = new PageImpl<>(List.of(mockBooking), pageable, 1);
-        when(bookingRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
         BookingResponseDto mockResponse = new BookingResponseDto(BOOKING_ID, null,
                 null, null, null, STATUS_PENDING.name());
-        when(bookingMapper.toBookingResponseDto(mockBooking)).thenReturn(mockResponse);
+        Page<BookingResponseDto> page = new PageImpl<>(List.of(mockResponse), pageable, 1);
+        when(bookingRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(page);
 
         Page<BookingResponseDto> result = bookingService.getBookingsByUserAndStatus(searchParams,
                 pageable);
@@ -196,22 +242,20 @@ class BookingServiceTests {
         assertThat(result).isNotNull();
         Assertions.assertFalse(result.getContent().isEmpty());
         assertThat(result.getContent().get(0)).isNotNull();
-        assertThat(result.getContent().get(0).id()).isEqualTo(mockBooking.getId());
+        assertThat(result.getContent().get(0).id()).isEqualTo(BOOKING_ID);
     }
 
     @Test
     @DisplayName("Should throw InvalidStatusException when booking is already canceled")
     void testCancelBooking_ShouldThrowInvalidStatusException_WhenBookingAlreadyCanceled() {
-        Booking mockBooking = new Booking();
-        mockBooking.setId(BOOKING_ID);
-        mockBooking.setStatus(BookingStatus.CANCELED);
+        Booking mockBooking = bookingOf(BookingStatus.CANCELED);
 
         User mockUser = new User();
         mockUser.setId(USER_ID);
         mockBooking.setUser(mockUser);
 
         when(jwtAuthenticationService.findUserById(USER_ID)).thenReturn(mockUser);
-        when(bookingRepository.findById(BOOKING_ID)).thenReturn(Optional.of(mockBooking));
+        whenLocked(mockBooking);
 
         assertThatThrownBy(() -> bookingService.cancelBooking(USER_ID, BOOKING_ID))
                 .isInstanceOf(InvalidStatusException.class)
@@ -222,16 +266,170 @@ class BookingServiceTests {
     @DisplayName("Should throw InvalidStatusException when booking "
             + "is canceled and update is attempted")
     void testUpdateBooking_ShouldThrowInvalidStatusException_WhenBookingIsCanceled() {
-        Booking mockBooking = new Booking();
-        mockBooking.setId(BOOKING_ID);
-        mockBooking.setStatus(BookingStatus.CANCELED);
+        Booking mockBooking = bookingOf(BookingStatus.CANCELED);
         BookingRequestDto request = new BookingRequestDto(CHECK_IN_DATE, CHECK_OUT_DATE,
                 ACCOMMODATION_ID);
 
-        when(bookingRepository.findById(BOOKING_ID)).thenReturn(Optional.of(mockBooking));
+        whenLocked(mockBooking);
 
         assertThatThrownBy(() -> bookingService.updateBooking(BOOKING_ID, request))
                 .isInstanceOf(InvalidStatusException.class)
                 .hasMessage("Cannot update a canceled booking with id: 1");
     }
+
+    @Test
+    @DisplayName("Should lock the accommodations before reading the booking row")
+    void testCancelBooking_ShouldLockAccommodationBeforeReadingBooking() {
+        Booking mockBooking = bookingOf(BookingStatus.PENDING);
+        User mockUser = new User();
+        mockUser.setId(USER_ID);
+        mockBooking.setUser(mockUser);
+        when(jwtAuthenticationService.findUserById(USER_ID)).thenReturn(mockUser);
+        whenLocked(mockBooking);
+        when(bookingRepository.updateStatus(eq(BOOKING_ID), eq(BookingStatus.CANCELED), any()))
+                .thenReturn(1);
+
+        bookingService.cancelBooking(USER_ID, BOOKING_ID);
+
+        InOrder inOrder = inOrder(accommodationLockManager, bookingRepository);
+        inOrder.verify(accommodationLockManager).lockForTransaction(ACCOMMODATION_ID);
+        inOrder.verify(bookingRepository).findForUpdateById(BOOKING_ID);
+        verify(accommodationService).releaseInventory(ACCOMMODATION_ID, CHECK_IN_DATE,
+                CHECK_OUT_DATE);
+    }
+
+    @Test
+    @DisplayName("Should not release inventory when the cancel did not change the row")
+    void testCancelBooking_ShouldNotReleaseInventory_WhenStatusAlreadyChanged() {
+        Booking mockBooking = bookingOf(BookingStatus.PENDING);
+        User mockUser = new User();
+        mockUser.setId(USER_ID);
+        mockBooking.setUser(mockUser);
+        when(jwtAuthenticationService.findUserById(USER_ID)).thenReturn(mockUser);
+        whenLocked(mockBooking);
+        when(bookingRepository.updateStatus(eq(BOOKING_ID), eq(BookingStatus.CANCELED), any()))
+                .thenReturn(0);
+
+        assertThatThrownBy(() -> bookingService.cancelBooking(USER_ID, BOOKING_ID))
+                .isInstanceOf(InvalidStatusException.class);
+        verify(accommodationService, never()).releaseInventory(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw BookingConflictException when the booking moved before the lock")
+    void testUpdateBooking_ShouldThrowConflict_WhenAccommodationChangedBeforeLock() {
+        Booking mockBooking = bookingOf(BookingStatus.PENDING);
+        BookingRequestDto request = new BookingRequestDto(CHECK_IN_DATE, CHECK_OUT_DATE,
+                ACCOMMODATION_ID);
+        when(bookingRepository.findAccommodationIdById(BOOKING_ID)).thenReturn(Optional.of(2L));
+        when(bookingRepository.findForUpdateById(BOOKING_ID))
+                .thenReturn(Optional.of(mockBooking));
+
+        assertThatThrownBy(() -> bookingService.updateBooking(BOOKING_ID, request))
+                .isInstanceOf(BookingConflictException.class)
+                .hasMessage("Booking with id: 1 was changed concurrently, please retry.");
+        verify(accommodationLockManager).lockForTransaction(ACCOMMODATION_ID, 2L);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should expire a batch of bookings and release their inventory")
+    void testMarkBookingsAsExpired_ShouldReleaseInventory_WhenBatchExpired() {
+        Accommodation mockAccommodation = new Accommodation();
+        mockAccommodation.setId(ACCOMMODATION_ID);
+        Booking expiredBooking = new Booking();
+        expiredBooking.setId(BOOKING_ID);
+        expiredBooking.setAccommodation(mockAccommodation);
+        expiredBooking.setStatus(BookingStatus.EXPIRED);
+        LocalDate thresholdDate = LocalDate.now().minusDays(1);
+        LocalDate checkIn = thresholdDate.minusDays(5);
+        LocalDate checkOut = thresholdDate.minusDays(2);
+        expiredBooking.setCheckInDate(checkIn);
+        expiredBooking.setCheckOutDate(checkOut);
+        BookedStay stay = new BookedStay(BOOKING_ID, ACCOMMODATION_ID, checkIn, checkOut);
+
+        when(bookingRepository.findStaysToExpire(eq(thresholdDate), any(), any()))
+                .thenReturn(List.of(stay));
+        when(bookingRepository.expireBookings(List.of(BOOKING_ID), Set.of(ACCOMMODATION_ID),
+                thresholdDate)).thenReturn(List.of(BOOKING_ID));
+        when(bookingRepository.findWithAccommodationAndUserByIdIn(List.of(BOOKING_ID)))
+                .thenReturn(List.of(expiredBooking));
+
+        BookingService.ExpiryBatch result = bookingService.markBookingsAsExpired(thresholdDate);
+
+        assertThat(result.candidates()).isEqualTo(1);
+        assertThat(result.expired()).isEqualTo(List.of(expiredBooking));
+        verify(accommodationLockManager).lockForTransaction(ACCOMMODATION_ID);
+        verify(accommodationService).releaseInventory(ACCOMMODATION_ID, checkIn, checkOut);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should return an empty batch when no booking is due to expire")
+    void testMarkBookingsAsExpired_ShouldReturnEmpty_WhenNothingToExpire() {
+        LocalDate thresholdDate = LocalDate.now().minusDays(1);
+        when(bookingRepository.findStaysToExpire(eq(thresholdDate), any(), any()))
+                .thenReturn(List.of());
+
+        assertThat(bookingService.markBookingsAsExpired(thresholdDate))
+                .isEqualTo(new BookingService.ExpiryBatch(0, List.of()));
+        verify(bookingRepository, never()).expireBookings(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should report the candidates when all of them changed before expiry")
+    void testMarkBookingsAsExpired_ShouldReportCandidates_WhenNoneExpired() {
+        LocalDate thresholdDate = LocalDate.now().minusDays(1);
+        BookedStay stay = new BookedStay(BOOKING_ID, ACCOMMODATION_ID,
+                thresholdDate.minusDays(5), thresholdDate.minusDays(2));
+        when(bookingRepository.findStaysToExpire(eq(thresholdDate), any(), any()))
+                .thenReturn(List.of(stay));
+        when(bookingRepository.expireBookings(List.of(BOOKING_ID), Set.of(ACCOMMODATION_ID),
+                thresholdDate)).thenReturn(List.of());
+
+        BookingService.ExpiryBatch result = bookingService.markBookingsAsExpired(thresholdDate);
+
+        assertThat(result.candidates()).isEqualTo(1);
+        assertThat(result.expired()).isEqualTo(List.of());
+        verify(accommodationService, never()).releaseInventory(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return a keyset slice with a cursor when more bookings follow")
+    void testScrollMyBookings_ShouldReturnNextCursor_WhenMoreBookingsFollow() {
+        BookingResponseDto newer = new BookingResponseDto(7L, CHECK_IN_DATE.plusDays(1),
+                CHECK_OUT_DATE, ACCOMMODATION_ID, USER_ID, STATUS_PENDING.name());
+        BookingResponseDto older = new BookingResponseDto(3L, CHECK_IN_DATE,
+                CHECK_OUT_DATE, ACCOMMODATION_ID, USER_ID, STATUS_PENDING.name());
+        KeysetCursor cursor = new KeysetCursor(CHECK_IN_DATE.plusDays(2).toString(), 9L);
+        when(bookingRepository.findByUserIdBefore(USER_ID, CHECK_IN_DATE.plusDays(2), 9L,
+                PageRequest.of(0, 2))).thenReturn(List.of(newer, older));
+
+        CursorPage<BookingResponseDto> result =
+                bookingService.scrollMyBookings(USER_ID, cursor.encode(), 1);
+
+        assertThat(result.content().size()).isEqualTo(1);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(KeysetCursor.decode(result.nextCursor()))
+                .isEqualTo(new KeysetCursor(CHECK_IN_DATE.plusDays(1).toString(), 7L));
+    }
+
+    private Booking bookingOf(BookingStatus status) {
+        Accommodation accommodation = new Accommodation();
+        accommodation.setId(ACCOMMODATION_ID);
+        Booking booking = new Booking();
+        booking.setId(BOOKING_ID);
+        booking.setAccommodation(accommodation);
+        booking.setCheckInDate(CHECK_IN_DATE);
+        booking.setCheckOutDate(CHECK_OUT_DATE);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private void whenLocked(Booking booking) {
+        when(bookingRepository.findAccommodationIdById(booking.getId()))
+                .thenReturn(Optional.of(booking.getAccommodation().getId()));
+        when(bookingRepository.findForUpdateById(booking.getId()))
+                .thenReturn(Optional.of(booking));
+    }
 }
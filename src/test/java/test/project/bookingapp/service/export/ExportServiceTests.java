@@ -0,0 +1,82 @@
+package test.project.bookingapp.service.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import test.project.bookingapp.dto.bookingdtos.BookingExportRow;
+import test.project.bookingapp.dto.payment.PaymentExportRow;
+import test.project.bookingapp.model.booking.BookingStatus;
+import test.project.bookingapp.model.payment.PaymentStatus;
+import test.project.bookingapp.repository.PaymentRepository;
+import test.project.bookingapp.repository.booking.BookingRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTests {
+    @Mock private BookingRepository bookingRepository;
+    @Mock private PaymentRepository paymentRepository;
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportService(bookingRepository, paymentRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("NDJSON export writes one JSON object per line and closes the cursor")
+    void exportBookings_Ndjson_OneObjectPerLine() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookingRepository.streamExportRows()).thenReturn(Stream.of(
+                new BookingExportRow(1L, 2L, 3L, LocalDate.parse("2025-03-01"),
+                        LocalDate.parse("2025-03-03"), BookingStatus.CONFIRMED),
+                new BookingExportRow(4L, 5L, 6L, LocalDate.parse("2025-04-01"),
+                        LocalDate.parse("2025-04-02"), BookingStatus.PENDING))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportBookings(ExportFormat.NDJSON, out);
+
+        assertEquals("""
+                {"id":1,"userId":2,"accommodationId":3,"checkInDate":"2025-03-01",\
+                "checkOutDate":"2025-03-03","status":"CONFIRMED"}
+                {"id":4,"userId":5,"accommodationId":6,"checkInDate":"2025-04-01",\
+                "checkOutDate":"2025-04-02","status":"PENDING"}
+                """, out.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("CSV export writes a header, quotes special characters and leaves nulls empty")
+    void exportPayments_Csv_EscapesValues() throws Exception {
+        when(paymentRepository.streamExportRows()).thenReturn(Stream.of(
+                new PaymentExportRow(1L, 2L, 3L, PaymentStatus.PAID, new BigDecimal("100.50"),
+                        "cs_\"a\",b", Instant.parse("2025-03-01T10:00:00Z")),
+                new PaymentExportRow(4L, 5L, 6L, PaymentStatus.PENDING, BigDecimal.TEN,
+                        null, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportPayments(ExportFormat.CSV, out);
+
+        assertEquals("id,bookingId,userId,status,amount,sessionId,expiresAt\r\n"
+                        + "1,2,3,PAID,100.50,\"cs_\"\"a\"\",b\",2025-03-01T10:00:00Z\r\n"
+                        + "4,5,6,PENDING,10,,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -19,6 +20,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import test.project.bookingapp.dto.userdtos.UserLoginRequestDto;
@@ -37,6 +39,8 @@ import test.project.bookingapp.model.role.Role;
 import test.project.bookingapp.model.role.RoleName;
 import test.project.bookingapp.repository.RoleRepository;
 import test.project.bookingapp.repository.UserRepository;
+import test.project.bookingapp.security.TokenRevocationService;
+import test.project.bookingapp.security.UserDetailsCache;
 import test.project.bookingapp.utils.JwtUtils;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,6 +57,10 @@ class JwtAuthenticationServiceTests {
     private PasswordEncoder passwordEncoder;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
 
     @InjectMocks
     private JwtAuthenticationService jwtAuthenticationService;
@@ -89,8 +97,8 @@ class JwtAuthenticationServiceTests {
         when(authenticationManager.authenticate(
                 argThat(token -> token.getPrincipal().equals(loginRequest.email())
                         && token.getCredentials().equals(loginRequest.password())))
-        ).thenReturn(null);
-        when(jwtUtils.generateToken(loginRequest.email())).thenReturn("mock-token");
+        ).thenReturn(new UsernamePasswordAuthenticationToken(user, null, Set.of(role)));
+        when(jwtUtils.generateToken(user)).thenReturn("mock-token");
 
         UserLoginResponseDto response = jwtAuthenticationService.authenticate(loginRequest);
 
@@ -150,6 +158,8 @@ class JwtAuthenticationServiceTests {
         assertNotNull(response);
         assertEquals(user.getId(), response.userId());
         assertEquals(roleNamesSet, response.roles());
+        verify(userDetailsCache).invalidate(user.getEmail());
+        verify(tokenRevocationService).revokeAllFor(user.getId());
     }
 
     @Test
@@ -201,6 +211,7 @@ class JwtAuthenticationServiceTests {
 
         assertNotNull(response);
         assertEquals(updateRequest.email(), response.email());
+        verify(userDetailsCache).invalidate("test@example.com", user.getEmail());
     }
 
     @Test
@@ -220,4 +231,21 @@ class JwtAuthenticationServiceTests {
                 () -> jwtAuthenticationService.updateUserProfile(1L, updateRequest));
         assertEquals("Email existingemail@example.com already exists", exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Logout revokes the token until it expires")
+    void logout_RevocableToken_RevokesToken() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        jwtAuthenticationService.logout("token-id", expiresAt);
+
+        verify(tokenRevocationService).revoke("token-id", expiresAt);
+    }
+
+    @Test
+    @DisplayName("Logout rejects a token issued without a token id")
+    void logout_TokenWithoutId_ThrowsBadCredentialsException() {
+        assertThrows(BadCredentialsException.class,
+                () -> jwtAuthenticationService.logout(null, Instant.now()));
+    }
 }
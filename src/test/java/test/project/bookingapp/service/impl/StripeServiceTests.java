@@ -4,8 +4,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -14,6 +16,7 @@ import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -26,11 +29,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import test.project.bookingapp.dto.CursorPage;
 import test.project.bookingapp.dto.payment.PaymentRequestDto;
 import test.project.bookingapp.dto.payment.PaymentResponseDto;
 import test.project.bookingapp.exception.EntityNotFoundException;
 import test.project.bookingapp.exception.InvalidStatusException;
-import test.project.bookingapp.exception.StripeSessionException;
 import test.project.bookingapp.mapper.PaymentMapper;
 import test.project.bookingapp.model.User;
 import test.project.bookingapp.model.accommodation.Accommodation;
@@ -38,6 +44,8 @@ import test.project.bookingapp.model.booking.Booking;
 import test.project.bookingapp.model.booking.BookingStatus;
 import test.project.bookingapp.model.payment.Payment;
 import test.project.bookingapp.model.payment.PaymentStatus;
+import test.project.bookingapp.model.role.Role;
+import test.project.bookingapp.model.role.RoleName;
 import test.project.bookingapp.repository.PaymentRepository;
 import test.project.bookingapp.service.BookingService;
 import test.project.bookingapp.service.NotificationService;
@@ -50,6 +58,7 @@ class StripeServiceTests {
     private static final String SESSION_URL = "http://stripe.url";
     private static final BigDecimal AMOUNT = BigDecimal.valueOf(700.0);
     private static final Long PAYMENT_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
 
     @Mock private PaymentRepository paymentRepository;
     @Mock private BookingService bookingService;
@@ -150,7 +159,7 @@ class StripeServiceTests {
             mockedSession.when(() -> Session.retrieve(sessionId)).thenReturn(mockSession);
             when(paymentRepository.findBySessionId(sessionId))
                     .thenReturn(Optional.of(savedPayment));
-            when(paymentRepository.save(savedPayment)).thenReturn(savedPayment);
+            when(paymentRepository.markPaid(savedPayment.getId())).thenReturn(1);
             PaymentResponseDto expectedResponseDto = new PaymentResponseDto(PAYMENT_ID, BOOKING_ID,
                     PaymentStatus.PAID, SESSION_URL, AMOUNT);
             when(paymentMapper.toPaymentResponseDto(savedPayment)).thenReturn(expectedResponseDto);
@@ -158,12 +167,48 @@ class StripeServiceTests {
             PaymentResponseDto response = stripeService.processSuccessfulPayment(sessionId);
             assertNotNull(response);
             Assertions.assertEquals(expectedResponseDto, response);
-            verify(paymentRepository, times(1)).save(savedPayment);
+            verify(paymentRepository, times(1)).markPaid(savedPayment.getId());
             verify(notificationService, times(1))
                     .sendPaymentSuccessNotification(savedPayment);
         }
     }
 
+    @Test
+    @DisplayName("Process Successful Payment - Already Paid By The Webhook")
+    void processSuccessfulPayment_AlreadyPaid_ReturnsPayment() {
+        mockPayment.setStatus(PaymentStatus.PAID);
+        PaymentResponseDto expectedResponseDto = new PaymentResponseDto(PAYMENT_ID, BOOKING_ID,
+                PaymentStatus.PAID, SESSION_URL, AMOUNT);
+        when(paymentRepository.findBySessionId(SESSION_ID)).thenReturn(Optional.of(mockPayment));
+        when(paymentMapper.toPaymentResponseDto(mockPayment)).thenReturn(expectedResponseDto);
+
+        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
+            PaymentResponseDto response = stripeService.processSuccessfulPayment(SESSION_ID);
+
+            assertEquals(expectedResponseDto, response);
+            mockedSession.verifyNoInteractions();
+        }
+        verify(paymentRepository, never()).markPaid(any());
+        verify(notificationService, never()).sendPaymentSuccessNotification(any());
+    }
+
+    @Test
+    @DisplayName("Process Successful Payment - Settled Concurrently By The Webhook")
+    void processSuccessfulPayment_SettledConcurrently_DoesNotNotify() {
+        Session mockSession = mock(Session.class);
+        when(mockSession.getPaymentStatus()).thenReturn("paid");
+        when(paymentRepository.findBySessionId(SESSION_ID)).thenReturn(Optional.of(mockPayment));
+        when(paymentRepository.markPaid(mockPayment.getId())).thenReturn(0);
+
+        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
+            mockedSession.when(() -> Session.retrieve(SESSION_ID)).thenReturn(mockSession);
+
+            stripeService.processSuccessfulPayment(SESSION_ID);
+        }
+        assertEquals(PaymentStatus.PAID, mockPayment.getStatus());
+        verify(notificationService, never()).sendPaymentSuccessNotification(any());
+    }
+
     @Test
     @DisplayName("Process Canceled Payment - Payment Not Found")
     void processCanceledPayment_NotFound() {
@@ -180,7 +225,8 @@ class StripeServiceTests {
     void renewPaymentSession_Success() {
         Long paymentId = 1L;
 
-        when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(mockPayment));
+        when(paymentRepository.findWithBookingById(paymentId))
+                .thenReturn(Optional.of(mockPayment));
         PaymentResponseDto expectedResponseDto = new PaymentResponseDto(mockPayment.getId(),
                 mockBooking.getId(), PaymentStatus.PENDING, SESSION_URL, AMOUNT);
         when(paymentMapper.toPaymentResponseDto(mockPayment)).thenReturn(expectedResponseDto);
@@ -200,16 +246,68 @@ class StripeServiceTests {
     }
 
     @Test
-    @DisplayName("Check Expired Payments - Handle StripeException")
-    void checkExpiredPayments_StripeException() {
-        StripeException mockException = mock(StripeException.class);
+    @DisplayName("Check Expired Payments - Expire pending payments page by page")
+    void checkExpiredPayments_ExpiresInPages() {
+        when(paymentRepository.expirePendingPayments(any(Instant.class), eq(500)))
+                .thenReturn(500, 500, 12);
+
+        stripeService.checkExpiredPayments();
+
+        verify(paymentRepository, times(3)).expirePendingPayments(any(Instant.class), eq(500));
+    }
+
+    @Test
+    @DisplayName("Renew Payment Session - Capture session expiry")
+    void renewPaymentSession_CapturesExpiry() {
+        long expiresAt = 1_900_000_000L;
+        when(paymentRepository.findWithBookingById(PAYMENT_ID))
+                .thenReturn(Optional.of(mockPayment));
 
-        when(paymentRepository.findAll()).thenReturn(List.of(mockPayment));
         try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            mockedSession.when(() -> Session.retrieve(mockPayment.getSessionId()))
-                    .thenThrow(mockException);
+            Session mockSession = mock(Session.class);
+            when(mockSession.getExpiresAt()).thenReturn(expiresAt);
+            mockedSession.when(() -> Session.create(any(SessionCreateParams.class)))
+                    .thenReturn(mockSession);
+
+            stripeService.renewPaymentSession(PAYMENT_ID);
 
-            assertThrows(StripeSessionException.class, () -> stripeService.checkExpiredPayments());
+            assertEquals(Instant.ofEpochSecond(expiresAt), mockPayment.getExpiresAt());
         }
     }
+
+    @Test
+    @DisplayName("Get Payments - Customer filtering by another user sees only their own")
+    void getPayments_CustomerWithOtherUserId_ReturnsOwnPayments() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<PaymentResponseDto> page = Page.empty(pageable);
+        when(paymentRepository.findResponsesByUserId(USER_ID, pageable)).thenReturn(page);
+
+        assertEquals(page, stripeService.getPayments(mockUser, OTHER_USER_ID, pageable));
+        verify(paymentRepository, never()).findResponsesByUserId(eq(OTHER_USER_ID), any());
+    }
+
+    @Test
+    @DisplayName("Scroll Payments - Customer filtering by another user sees only their own")
+    void scrollPayments_CustomerWithOtherUserId_ReturnsOwnPayments() {
+        when(paymentRepository.findResponsesByUserIdBefore(eq(USER_ID), eq(Long.MAX_VALUE),
+                any(Pageable.class))).thenReturn(List.of());
+
+        CursorPage<PaymentResponseDto> page =
+                stripeService.scrollPayments(mockUser, OTHER_USER_ID, null, 10);
+
+        assertEquals(List.of(), page.content());
+        verify(paymentRepository, never())
+                .findResponsesByUserIdBefore(eq(OTHER_USER_ID), any(), any());
+    }
+
+    @Test
+    @DisplayName("Get Payments - Admin filtering by a user sees that user's payments")
+    void getPayments_AdminWithUserId_ReturnsThatUsersPayments() {
+        mockUser.getRoles().add(new Role(1L, RoleName.ROLE_ADMIN));
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<PaymentResponseDto> page = Page.empty(pageable);
+        when(paymentRepository.findResponsesByUserId(OTHER_USER_ID, pageable)).thenReturn(page);
+
+        assertEquals(page, stripeService.getPayments(mockUser, OTHER_USER_ID, pageable));
+    }
 }
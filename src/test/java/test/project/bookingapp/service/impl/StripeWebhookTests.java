@@ -0,0 +1,123 @@
+package test.project.bookingapp.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.stripe.Stripe;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import test.project.bookingapp.exception.WebhookVerificationException;
+import test.project.bookingapp.mapper.PaymentMapper;
+import test.project.bookingapp.model.payment.Payment;
+import test.project.bookingapp.model.payment.PaymentStatus;
+import test.project.bookingapp.repository.PaymentRepository;
+import test.project.bookingapp.repository.ProcessedEventRepository;
+import test.project.bookingapp.service.BookingService;
+import test.project.bookingapp.service.NotificationService;
+
+@ExtendWith(MockitoExtension.class)
+class StripeWebhookTests {
+    private static final String WEBHOOK_SECRET = "whsec_test_secret";
+    private static final String SESSION_ID = "cs_test_1";
+    private static final String EVENT_ID = "evt_test_1";
+
+    @Mock private PaymentRepository paymentRepository;
+    @Mock private ProcessedEventRepository processedEventRepository;
+    @Mock private PaymentMapper paymentMapper;
+    @Mock private BookingService bookingService;
+    @Mock private NotificationService notificationService;
+    private StripeService stripeService;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        stripeService = new StripeService("test_api_key", paymentRepository, paymentMapper,
+                bookingService, "test/url", notificationService, processedEventRepository,
+                WEBHOOK_SECRET);
+        payment = new Payment();
+        payment.setSessionId(SESSION_ID);
+        payment.setStatus(PaymentStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Completed session event marks the payment as paid")
+    void handleWebhookEvent_SessionCompleted_MarksPaid() throws Exception {
+        when(processedEventRepository.insertIfAbsent(EVENT_ID)).thenReturn(1);
+        when(paymentRepository.findBySessionId(SESSION_ID)).thenReturn(Optional.of(payment));
+        when(paymentRepository.markPaid(payment.getId())).thenReturn(1);
+        String payload = event("checkout.session.completed", "paid");
+
+        stripeService.handleWebhookEvent(payload, sign(payload));
+
+        assertEquals(PaymentStatus.PAID, payment.getStatus());
+        verify(notificationService).sendPaymentSuccessNotification(payment);
+    }
+
+    @Test
+    @DisplayName("Expired session event expires a pending payment")
+    void handleWebhookEvent_SessionExpired_ExpiresPayment() throws Exception {
+        String payload = event("checkout.session.expired", "unpaid");
+        when(processedEventRepository.insertIfAbsent(EVENT_ID)).thenReturn(1);
+        when(paymentRepository.findBySessionId(SESSION_ID)).thenReturn(Optional.of(payment));
+
+        stripeService.handleWebhookEvent(payload, sign(payload));
+
+        assertEquals(PaymentStatus.EXPIRED, payment.getStatus());
+        verify(paymentRepository).save(payment);
+    }
+
+    @Test
+    @DisplayName("Redelivered event is acknowledged without touching the payment")
+    void handleWebhookEvent_Redelivery_IsIgnored() throws Exception {
+        String payload = event("checkout.session.completed", "paid");
+        when(processedEventRepository.insertIfAbsent(EVENT_ID)).thenReturn(0);
+
+        stripeService.handleWebhookEvent(payload, sign(payload));
+
+        verify(paymentRepository, never()).findBySessionId(any());
+        verify(notificationService, never()).sendPaymentSuccessNotification(any());
+    }
+
+    @Test
+    @DisplayName("Event with a forged signature is rejected")
+    void handleWebhookEvent_InvalidSignature_Throws() throws Exception {
+        String payload = event("checkout.session.completed", "paid");
+        String forged = sign(payload.replace("paid", "free"));
+
+        assertThrows(WebhookVerificationException.class,
+                () -> stripeService.handleWebhookEvent(payload, forged));
+        verify(processedEventRepository, never()).insertIfAbsent(any());
+    }
+
+    private String event(String type, String paymentStatus) {
+        return String.format("""
+                {"id": "%s", "object": "event", "api_version": "%s", "type": "%s",
+                 "data": {"object": {"id": "%s", "object": "checkout.session",
+                 "payment_status": "%s"}}}""",
+                EVENT_ID, Stripe.API_VERSION, type, SESSION_ID, paymentStatus);
+    }
+
+    private String sign(String payload) throws Exception {
+        long timestamp = Instant.now().getEpochSecond();
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(WEBHOOK_SECRET.getBytes(StandardCharsets.UTF_8),
+                "HmacSHA256"));
+        byte[] signature = mac.doFinal((timestamp + "." + payload)
+                .getBytes(StandardCharsets.UTF_8));
+        return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(signature);
+    }
+}
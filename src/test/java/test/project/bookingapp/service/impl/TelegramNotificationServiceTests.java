@@ -1,10 +1,11 @@
 package test.project.bookingapp.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.contains;
-import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -12,7 +13,7 @@ import static org.mockito.Mockito.when;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import org.junit.jupiter.api.BeforeEach;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,72 +21,61 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import test.project.bookingapp.model.User;
 import test.project.bookingapp.model.accommodation.Accommodation;
 import test.project.bookingapp.model.accommodation.AccommodationType;
 import test.project.bookingapp.model.booking.Booking;
 import test.project.bookingapp.model.payment.Payment;
 import test.project.bookingapp.service.BookingService;
+import test.project.bookingapp.service.notification.TelegramDispatcher;
 
 @ExtendWith(MockitoExtension.class)
 class TelegramNotificationServiceTests {
+    private static final BookingService.ExpiryBatch NO_CANDIDATES =
+            new BookingService.ExpiryBatch(0, List.of());
+
     @Mock
     private BookingService bookingService;
 
     @Mock
-    private RestTemplate restTemplate;
+    private TelegramDispatcher telegramDispatcher;
 
     @InjectMocks
     private TelegramNotificationService telegramNotificationService;
 
-    private final String botToken = "test-bot-token";
-    private final String chatId = "test-chat-id";
-    private final String telegramApiUrl = "https://api.telegram.org/bot";
-
-    @BeforeEach
-    void setUp() {
-        telegramNotificationService = new TelegramNotificationService(bookingService, restTemplate,
-                botToken, chatId);
-    }
-
     @Test
     @DisplayName("Send Notification - Success")
     void sendNotification_Success() {
         String message = "Test notification message";
-        String expectedUrl = String.format("%s%s/sendMessage?chat_id=%s&text=%s",
-                telegramApiUrl, botToken, chatId, message);
+        when(telegramDispatcher.deliver(message))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn("OK");
+        assertTrue(telegramNotificationService.sendNotification(message).isDone());
 
-        telegramNotificationService.sendNotification(message);
-
-        verify(restTemplate, times(1)).getForObject(eq(expectedUrl), eq(String.class));
+        verify(telegramDispatcher, times(1)).deliver(message);
     }
 
     @Test
     @DisplayName("Send Notification - Telegram API Failure")
     void sendNotification_ApiFailure() {
         String message = "Test failure notification";
-        when(restTemplate.getForObject(anyString(), eq(String.class)))
-                .thenThrow(new RestClientException("Telegram API Down"));
+        when(telegramDispatcher.deliver(message)).thenReturn(
+                CompletableFuture.failedFuture(new RestClientException("Telegram API Down")));
 
-        assertThrows(RestClientException.class,
-                () -> telegramNotificationService.sendNotification(message));
+        assertTrue(telegramNotificationService.sendNotification(message)
+                .isCompletedExceptionally());
 
-        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+        verify(telegramDispatcher, times(1)).deliver(message);
     }
 
     @Test
     @DisplayName("Check Expired Bookings - No Expired Bookings")
     void checkExpiredBookings_NoExpired() {
-        when(bookingService.markBookingsAsExpired()).thenReturn(List.of());
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn("OK");
+        when(bookingService.markBookingsAsExpired(any())).thenReturn(NO_CANDIDATES);
 
         telegramNotificationService.checkExpiredBookings();
 
-        verify(restTemplate, times(1)).getForObject(contains("No expired bookings today!"),
-                eq(String.class));
+        verify(telegramDispatcher, times(1)).submit(contains("No expired bookings today!"));
     }
 
     @Test
@@ -103,32 +93,26 @@ class TelegramNotificationServiceTests {
         when(mockBooking.getUser()).thenReturn(user);
         when(mockBooking.getAccommodation()).thenReturn(accommodation);
 
-        when(bookingService.markBookingsAsExpired()).thenReturn(List.of(mockBooking));
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn("OK");
+        when(bookingService.markBookingsAsExpired(any())).thenReturn(
+                new BookingService.ExpiryBatch(1, List.of(mockBooking)), NO_CANDIDATES);
 
         telegramNotificationService.checkExpiredBookings();
 
-        verify(restTemplate, times(1)).getForObject(contains("Booking expired!"), eq(String.class));
+        verify(telegramDispatcher, times(1)).submit(contains("Booking expired!"));
+        verify(telegramDispatcher, never()).submit(contains("No expired bookings today!"));
+        verify(telegramDispatcher, never()).deliver(any());
+        verify(bookingService, times(2)).markBookingsAsExpired(any());
     }
 
     @Test
-    @DisplayName("Check Expired Bookings - API Failure")
-    void checkExpiredBookings_ApiFailure() {
-        Booking mockBooking = mock(Booking.class);
-        Accommodation mockAccommodation = mock(Accommodation.class);
-        User mockUser = mock(User.class);
-
-        when(mockBooking.getAccommodation()).thenReturn(mockAccommodation);
-        when(mockAccommodation.getType()).thenReturn(AccommodationType.HOTEL);
-        when(mockBooking.getUser()).thenReturn(mockUser);
-        when(mockUser.getUsername()).thenReturn("testUser");
-        when(bookingService.markBookingsAsExpired()).thenReturn(List.of(mockBooking));
-        when(restTemplate.getForObject(anyString(), eq(String.class)))
-                .thenThrow(new RestClientException("Telegram API Down"));
-
-        assertThrows(RestClientException.class, () ->
-                telegramNotificationService.checkExpiredBookings());
-        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+    @DisplayName("Check Expired Bookings - Continues Past A Batch That Expired Nothing")
+    void checkExpiredBookings_BatchWithoutExpiries_Continues() {
+        when(bookingService.markBookingsAsExpired(any())).thenReturn(
+                new BookingService.ExpiryBatch(500, List.of()), NO_CANDIDATES);
+
+        telegramNotificationService.checkExpiredBookings();
+
+        verify(bookingService, times(2)).markBookingsAsExpired(any());
     }
 
     @Test
@@ -147,8 +131,7 @@ class TelegramNotificationServiceTests {
 
         telegramNotificationService.sendPaymentSuccessNotification(payment);
 
-        verify(restTemplate, times(1))
-                .getForObject(contains("Payment successful!"), eq(String.class));
+        verify(telegramDispatcher, times(1)).submit(contains("Payment successful!"));
     }
 
     @Test
@@ -157,27 +140,4 @@ class TelegramNotificationServiceTests {
         assertThrows(NullPointerException.class,
                 () -> telegramNotificationService.sendPaymentSuccessNotification(null));
     }
-
-    @Test
-    @DisplayName("Send Payment Success Notification - API Failure")
-    void sendPaymentSuccessNotification_ApiFailure() {
-        User user = new User();
-
-        Booking booking = mock(Booking.class);
-        when(booking.getId()).thenReturn(1L);
-        when(booking.getUser()).thenReturn(user);
-
-        Payment payment = new Payment();
-        payment.setSessionId("session_123");
-        payment.setAmount(new BigDecimal("100.00"));
-        payment.setBooking(booking);
-
-        when(restTemplate.getForObject(anyString(), eq(String.class)))
-                .thenThrow(new RestClientException("Telegram API Down"));
-
-        assertThrows(RestClientException.class,
-                () -> telegramNotificationService.sendPaymentSuccessNotification(payment));
-
-        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
-    }
 }
@@ -0,0 +1,7 @@
+package test.project.bookingapp.service.lock;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "booking.lock.mode=advisory")
+class AdvisoryLockConcurrentBookingTests extends ConcurrentBookingTests {
+}
@@ -0,0 +1,107 @@
+package test.project.bookingapp.service.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.web.client.RestTemplate;
+import test.project.bookingapp.dto.bookingdtos.BookingRequestDto;
+import test.project.bookingapp.exception.BookingConflictException;
+import test.project.bookingapp.service.BookingService;
+
+/**
+ * Books one accommodation from many threads through {@link BookingService} and checks the
+ * result in the database. Subclasses pick the lock manager with {@code booking.lock.mode}.
+ */
+@SpringBootTest
+@Sql(scripts = "/db/clean-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/db/add-test-users.sql", "/db/add-test-accommodations.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+abstract class ConcurrentBookingTests {
+    private static final long USER_ID = 1L;
+    // Three units, so stays overlap up to the capacity before they are turned away
+    private static final long ACCOMMODATION_ID = 2L;
+    private static final int CAPACITY = 3;
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2030, 1, 1);
+    private static final int NIGHTS = 10;
+    // Below the default pool size, so waiting for a connection never hides lock waits
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS = 64;
+
+    @MockBean
+    private RestTemplate restTemplate;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Concurrent bookings never exceed capacity and keep the inventory exact")
+    void createBooking_Concurrent_NeverOverbooks() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            LocalDate checkIn = FIRST_NIGHT.plusDays(i % (NIGHTS - 2));
+            BookingRequestDto request = new BookingRequestDto(checkIn,
+                    checkIn.plusDays(1 + i % 3), ACCOMMODATION_ID);
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.createBooking(USER_ID, request);
+                    return true;
+                } catch (BookingConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int booked = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get(1, TimeUnit.MINUTES)) {
+                booked++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(booked).isPositive().isLessThan(ATTEMPTS);
+        assertThat(busiestNight()).isEqualTo(CAPACITY);
+        assertThat(inventoryMismatches()).isZero();
+    }
+
+    private int busiestNight() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(booked), 0) FROM ("
+                + "SELECT COUNT(b.id) AS booked "
+                + "FROM generate_series(?::date, ?::date, INTERVAL '1 day') AS n(night) "
+                + "JOIN bookings b ON b.accommodation_id = ? "
+                + "AND b.status IN ('PENDING', 'CONFIRMED') "
+                + "AND b.check_in_date <= n.night AND b.check_out_date > n.night "
+                + "GROUP BY n.night) nights", Integer.class,
+                FIRST_NIGHT, FIRST_NIGHT.plusDays(NIGHTS - 1), ACCOMMODATION_ID);
+    }
+
+    private int inventoryMismatches() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) "
+                + "FROM generate_series(?::date, ?::date, INTERVAL '1 day') AS n(night) "
+                + "WHERE COALESCE((SELECT i.booked_count FROM accommodation_inventory i "
+                + "WHERE i.accommodation_id = ? AND i.day = n.night), 0) "
+                + "<> (SELECT COUNT(*) FROM bookings b WHERE b.accommodation_id = ? "
+                + "AND b.status IN ('PENDING', 'CONFIRMED') "
+                + "AND b.check_in_date <= n.night AND b.check_out_date > n.night)",
+                Integer.class, FIRST_NIGHT, FIRST_NIGHT.plusDays(NIGHTS - 1),
+                ACCOMMODATION_ID, ACCOMMODATION_ID);
+    }
+}
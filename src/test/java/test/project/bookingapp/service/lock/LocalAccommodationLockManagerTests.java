@@ -0,0 +1,135 @@
+package test.project.bookingapp.service.lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import test.project.bookingapp.service.availability.BookedStay;
+
+class LocalAccommodationLockManagerTests {
+    private static final int BOOKING_ATTEMPTS = 5000;
+    private static final int THREADS = 32;
+    private static final int ACCOMMODATIONS = 8;
+    private static final LocalDate BASE_DATE = LocalDate.of(2030, 1, 1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalAccommodationLockManager lockManager;
+    // Deliberately unsynchronized, so only the accommodation lock keeps check-then-book safe
+    private Map<Long, List<BookedStay>> staysByAccommodation;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new LocalAccommodationLockManager(16, meterRegistry);
+        staysByAccommodation = new ConcurrentHashMap<>();
+    }
+
+    @Test
+    @DisplayName("Parallel check-then-book sequences should never produce overlapping stays")
+    void lockForTransaction_ParallelBookings_NoOverlaps() throws Exception {
+        AtomicLong bookingIds = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < BOOKING_ATTEMPTS; i++) {
+            futures.add(executor.submit(() -> inTransaction(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long accommodationId = random.nextInt(ACCOMMODATIONS) + 1;
+                LocalDate checkIn = BASE_DATE.plusDays(random.nextInt(365));
+                LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(7));
+
+                lockManager.lockForTransaction(accommodationId);
+                List<BookedStay> stays = staysByAccommodation.computeIfAbsent(accommodationId,
+                        id -> new ArrayList<>());
+                if (stays.stream().noneMatch(stay -> stay.checkInDate().isBefore(checkOut)
+                        && checkIn.isBefore(stay.checkOutDate()))) {
+                    Thread.yield();
+                    stays.add(new BookedStay(bookingIds.incrementAndGet(), accommodationId,
+                            checkIn, checkOut));
+                }
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertFalse(staysByAccommodation.isEmpty());
+        staysByAccommodation.values().forEach(stays -> {
+            stays.sort(Comparator.comparing(BookedStay::checkInDate));
+            for (int i = 1; i < stays.size(); i++) {
+                assertFalse(stays.get(i).checkInDate().isBefore(stays.get(i - 1).checkOutDate()),
+                        "Overlapping stays: " + stays.get(i - 1) + " and " + stays.get(i));
+            }
+        });
+        assertTrue(meterRegistry.get("booking.lock.contended").counter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Lock should be released when the transaction completes")
+    void lockForTransaction_ReleasedAfterCompletion() throws Exception {
+        inTransaction(() -> lockManager.lockForTransaction(1L));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> inTransaction(() -> lockManager.lockForTransaction(1L))).get();
+        executor.shutdown();
+
+        assertEquals(0, meterRegistry.get("booking.lock.contended").counter().count());
+    }
+
+    @Test
+    @DisplayName("Locking several accommodations should not deadlock opposite lock orders")
+    void lockForTransaction_SeveralAccommodations_NoDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < BOOKING_ATTEMPTS; i++) {
+            boolean forward = i % 2 == 0;
+            futures.add(executor.submit(() -> inTransaction(() ->
+                    lockManager.lockForTransaction(forward ? 1L : 2L, forward ? 2L : 1L))));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Locking outside of a transaction should fail fast")
+    void lockForTransaction_NoTransaction_ThrowsException() {
+        assertThrows(IllegalStateException.class, () -> lockManager.lockForTransaction(1L));
+    }
+
+    private void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+        } finally {
+            List<TransactionSynchronization> synchronizations =
+                    TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                    TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+}
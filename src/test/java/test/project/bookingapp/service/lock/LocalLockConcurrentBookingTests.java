@@ -0,0 +1,7 @@
+package test.project.bookingapp.service.lock;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "booking.lock.mode=local")
+class LocalLockConcurrentBookingTests extends ConcurrentBookingTests {
+}
@@ -0,0 +1,102 @@
+package test.project.bookingapp.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+import test.project.bookingapp.model.notification.OutboxMessage;
+import test.project.bookingapp.service.NotificationService;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTests {
+    private static final int BATCH_SIZE = 2;
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Mock
+    private NotificationOutboxService outboxService;
+    @Mock
+    private NotificationService notificationService;
+    @InjectMocks
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(dispatcher, "lease", LEASE);
+    }
+
+    @Test
+    @DisplayName("Should record each outcome once its delivery completes")
+    void dispatch_RecordsOutcomes() {
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        when(outboxService.claimBatch(BATCH_SIZE, LEASE))
+                .thenReturn(List.of(message(1L, "first"), message(2L, "second")));
+        when(notificationService.sendNotification("first")).thenReturn(first);
+        when(notificationService.sendNotification("second")).thenReturn(second);
+
+        dispatcher.dispatch();
+
+        assertEquals(2, dispatcher.inFlight());
+        verify(outboxService, never()).markSent(any());
+        RestClientException failure = new RestClientException("Telegram API Down");
+        first.complete(null);
+        second.completeExceptionally(failure);
+        verify(outboxService).markSent(1L);
+        verify(outboxService).markFailed(2L, failure);
+        assertEquals(0, dispatcher.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should not claim more than one batch while deliveries are in flight")
+    void dispatch_BatchInFlight_ClaimsNothing() {
+        when(outboxService.claimBatch(BATCH_SIZE, LEASE))
+                .thenReturn(List.of(message(1L, "first"), message(2L, "second")));
+        when(notificationService.sendNotification(any())).thenReturn(new CompletableFuture<>());
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        verify(outboxService, times(1)).claimBatch(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should release messages the full queue turned away until the next poll")
+    void dispatch_QueueFull_ReleasesAndStops() {
+        when(outboxService.claimBatch(BATCH_SIZE, LEASE))
+                .thenReturn(List.of(message(1L, "first"), message(2L, "second")));
+        when(notificationService.sendNotification(any())).thenReturn(
+                CompletableFuture.failedFuture(new RejectedExecutionException("full")));
+
+        dispatcher.dispatch();
+
+        verify(outboxService).release(1L);
+        verify(outboxService).release(2L);
+        verify(outboxService, times(1)).claimBatch(anyInt(), any());
+        verify(outboxService, never()).markFailed(any(), any());
+    }
+
+    private OutboxMessage message(Long id, String text) {
+        OutboxMessage message = new OutboxMessage();
+        message.setId(id);
+        message.setMessage(text);
+        return message;
+    }
+}
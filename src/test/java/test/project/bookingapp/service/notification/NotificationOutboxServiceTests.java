@@ -0,0 +1,128 @@
+package test.project.bookingapp.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestClientException;
+import test.project.bookingapp.events.BookingNotificationEvent;
+import test.project.bookingapp.model.notification.OutboxMessage;
+import test.project.bookingapp.model.notification.OutboxStatus;
+import test.project.bookingapp.repository.NotificationOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxServiceTests {
+    private static final int BATCH_SIZE = 50;
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+    @InjectMocks
+    private NotificationOutboxService outboxService;
+
+    @Test
+    @DisplayName("Should store booking notifications as pending outbox messages")
+    void enqueue_StoresPendingMessage() {
+        outboxService.enqueue(new BookingNotificationEvent(this, "New booking created: 1"));
+
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals("New booking created: 1", captor.getValue().getMessage());
+        assertEquals(OutboxStatus.PENDING, captor.getValue().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should lease claimed messages so other dispatchers skip them")
+    void claimBatch_LeasesClaimedMessages() {
+        OutboxMessage message = pending("Booking canceled: 1", 0);
+        when(outboxRepository.claimDue(any(), eq(BATCH_SIZE))).thenReturn(List.of(message));
+
+        List<OutboxMessage> claimed = outboxService.claimBatch(BATCH_SIZE, Duration.ofMinutes(5));
+
+        assertEquals(List.of(message), claimed);
+        assertEquals(OutboxStatus.PENDING, message.getStatus());
+        assertTrue(message.getNextAttemptAt().isAfter(Instant.now().plusSeconds(240)));
+    }
+
+    @Test
+    @DisplayName("Should mark delivered messages as sent")
+    void markSent_MarksSent() {
+        OutboxMessage message = pending("Booking canceled: 1", 0);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(message));
+
+        outboxService.markSent(1L);
+
+        assertEquals(OutboxStatus.SENT, message.getStatus());
+        assertEquals(1, message.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should reschedule failed messages with backoff")
+    void markFailed_SchedulesRetry() {
+        OutboxMessage message = pending("New booking created: 2", 2);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(message));
+
+        outboxService.markFailed(1L, new RestClientException("Telegram API Down"));
+
+        assertEquals(OutboxStatus.PENDING, message.getStatus());
+        assertEquals(3, message.getAttempts());
+        assertEquals("Telegram API Down", message.getLastError());
+        assertTrue(message.getNextAttemptAt().isAfter(Instant.now().plusSeconds(60)));
+    }
+
+    @Test
+    @DisplayName("Should dead-letter messages that exhausted their attempts")
+    void markFailed_LastAttempt_DeadLetters() {
+        OutboxMessage message = pending("New booking created: 3",
+                NotificationOutboxService.MAX_ATTEMPTS - 1);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(message));
+
+        outboxService.markFailed(1L, new RestClientException("Bad Request"));
+
+        assertEquals(OutboxStatus.DEAD, message.getStatus());
+        assertEquals(NotificationOutboxService.MAX_ATTEMPTS, message.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should make released messages due again without counting an attempt")
+    void release_MakesMessageDue() {
+        OutboxMessage message = pending("New booking created: 4", 1);
+        message.setNextAttemptAt(Instant.now().plusSeconds(300));
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(message));
+
+        outboxService.release(1L);
+
+        assertEquals(1, message.getAttempts());
+        assertTrue(!message.getNextAttemptAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Should double the backoff up to its cap")
+    void backoff_DoublesUpToCap() {
+        assertEquals(Duration.ofSeconds(30), NotificationOutboxService.backoff(1));
+        assertEquals(Duration.ofMinutes(2), NotificationOutboxService.backoff(3));
+        assertEquals(Duration.ofHours(1), NotificationOutboxService.backoff(30));
+    }
+
+    private OutboxMessage pending(String text, int attempts) {
+        OutboxMessage message = new OutboxMessage();
+        message.setMessage(text);
+        message.setStatus(OutboxStatus.PENDING);
+        message.setAttempts(attempts);
+        message.setNextAttemptAt(Instant.now());
+        return message;
+    }
+}
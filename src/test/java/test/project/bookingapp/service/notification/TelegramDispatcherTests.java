@@ -0,0 +1,194 @@
+package test.project.bookingapp.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+class TelegramDispatcherTests {
+    private static final String BOT_TOKEN = "test-token";
+    private static final String CHAT_ID = "test-chat";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer telegramStub;
+    private TelegramDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        telegramStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        telegramStub.createContext("/bot" + BOT_TOKEN + "/sendMessage", this::handle);
+        telegramStub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+        telegramStub.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should post the message as JSON without mangling special characters")
+    void deliver_PostsJsonBody() throws Exception {
+        dispatcher = dispatcher(10, 600, 5);
+        dispatcher.start();
+
+        dispatcher.deliver("50% off & more #1?").get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, received.size());
+        assertEquals(CHAT_ID, received.get(0).get("chat_id").asText());
+        assertEquals("50% off & more #1?", received.get(0).get("text").asText());
+        assertEquals(1, meterRegistry.timer("telegram.dispatch.send").count());
+    }
+
+    @Test
+    @DisplayName("Should acknowledge every message of a coalesced digest")
+    void deliver_Burst_AcknowledgesEveryMessage() throws Exception {
+        dispatcher = dispatcher(100, 60, 1);
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            deliveries.add(dispatcher.deliver("New booking created: " + i));
+        }
+        dispatcher.start();
+
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst into digest messages")
+    void submit_Burst_IsCoalesced() throws InterruptedException {
+        dispatcher = dispatcher(100, 60, 1);
+        dispatcher.start();
+
+        for (int i = 1; i <= 20; i++) {
+            assertTrue(dispatcher.submit("Booking expired: " + i));
+        }
+        awaitReceived(20);
+
+        assertTrue(received.size() <= 2, "Expected at most 2 requests, got " + received.size());
+        String delivered = String.join("\n\n",
+                received.stream().map(body -> body.get("text").asText()).toList());
+        for (int i = 1; i <= 20; i++) {
+            assertTrue(delivered.contains("Booking expired: " + i + "\n")
+                    || delivered.endsWith("Booking expired: " + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop and count messages when the queue is full")
+    void submit_QueueFull_DropsMessage() {
+        dispatcher = dispatcher(2, 60, 1);
+
+        assertTrue(dispatcher.submit("first"));
+        assertTrue(dispatcher.submit("second"));
+        assertFalse(dispatcher.submit("third"));
+
+        assertEquals(2, dispatcher.queueDepth());
+        assertEquals(1.0, meterRegistry.counter("telegram.dispatch.dropped").count());
+        assertEquals(2.0, meterRegistry.get("telegram.dispatch.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should fail the delivery at once when the queue is full")
+    void deliver_QueueFull_FailsWithRejection() {
+        dispatcher = dispatcher(1, 60, 1);
+
+        assertTrue(dispatcher.submit("first"));
+        CompletableFuture<Void> delivery = dispatcher.deliver("second");
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> delivery.get(0, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Should fail acknowledged deliveries and count failed sends")
+    void deliver_ApiFailure() {
+        responseStatus.set(500);
+        dispatcher = dispatcher(10, 600, 5);
+        dispatcher.start();
+
+        CompletableFuture<Void> delivery = dispatcher.deliver("async");
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> delivery.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RestClientException.class, exception.getCause());
+        assertEquals(1.0, meterRegistry.counter("telegram.dispatch.failed").count());
+    }
+
+    @Test
+    @DisplayName("Should turn every message away when the dispatcher is disabled")
+    void deliver_Disabled_FailsWithRejection() {
+        dispatcher = dispatcher(10, 600, 5, false);
+        dispatcher.start();
+
+        assertFalse(dispatcher.submit("first"));
+        CompletableFuture<Void> delivery = dispatcher.deliver("second");
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> delivery.get(0, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        assertEquals(0, dispatcher.queueDepth());
+        assertTrue(received.isEmpty());
+    }
+
+    private TelegramDispatcher dispatcher(int queueCapacity, int messagesPerMinute, int burst) {
+        return dispatcher(queueCapacity, messagesPerMinute, burst, true);
+    }
+
+    private TelegramDispatcher dispatcher(int queueCapacity, int messagesPerMinute, int burst,
+                                          boolean enabled) {
+        String apiUrl = "http://localhost:" + telegramStub.getAddress().getPort();
+        return new TelegramDispatcher(new RestTemplate(), meterRegistry, apiUrl, BOT_TOKEN,
+                CHAT_ID, queueCapacity, messagesPerMinute, burst, enabled);
+    }
+
+    private void awaitReceived(int messages) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && received.stream()
+                .mapToInt(body -> body.get("text").asText().split("\n\n").length)
+                .sum() < messages) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        received.add(objectMapper.readTree(exchange.getRequestBody()));
+        byte[] response = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus.get(), response.length);
+        exchange.getResponseBody().write(response);
+        exchange.close();
+    }
+}
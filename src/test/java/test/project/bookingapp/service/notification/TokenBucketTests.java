@@ -0,0 +1,42 @@
+package test.project.bookingapp.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then refill at the configured rate")
+    void tryAcquire_BurstThenRefill() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), clock::get);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertFalse(bucket.tryAcquire());
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should not accumulate more tokens than its capacity")
+    void tryAcquire_IdleBucket_CapsAtCapacity() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(1), clock::get);
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+}
@@ -3,69 +3,94 @@ package test.project.bookingapp.utils;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import test.project.bookingapp.model.User;
+import test.project.bookingapp.model.role.Role;
+import test.project.bookingapp.model.role.RoleName;
 
 class JwtUtilsTests {
     private JwtUtils jwtUtils;
     private String validToken;
     private String invalidToken;
     private final String secret = "testsecretkeyforjwttokengenerationtestsecretkeyforjwttoken";
+    private final Duration maxAge = Duration.ofHours(1);
+    private User user;
 
     @BeforeEach
     void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setEmail("testuser");
+        user.setRoles(Set.of(new Role(1L, RoleName.ROLE_CUSTOMER)));
         long expiration = 60000L;
-        jwtUtils = new JwtUtils(secret, expiration);
-        validToken = jwtUtils.generateToken("testuser");
+        jwtUtils = new JwtUtils(secret, expiration, maxAge);
+        validToken = jwtUtils.generateToken(user);
         invalidToken = "invalid.token.here";
     }
 
     @Test
     @DisplayName("Generate token should return a non-null token")
     void generateToken_ShouldReturnNonNullToken() {
-        String token = jwtUtils.generateToken("testuser");
+        String token = jwtUtils.generateToken(user);
         assertNotNull(token);
     }
 
     @Test
-    @DisplayName("Validate token should return true for a valid token")
-    void isValidToken_ValidToken_ReturnsTrue() {
-        assertTrue(jwtUtils.isValidToken(validToken));
+    @DisplayName("Parse claims should return the subject of a valid token")
+    void parseClaims_ValidToken_ReturnsClaims() {
+        Claims claims = jwtUtils.parseClaims(validToken);
+        assertEquals("testuser", claims.getSubject());
     }
 
     @Test
-    @DisplayName("Validate token should throw JwtException for an invalid token")
-    void isValidToken_InvalidToken_ThrowsJwtException() {
-        JwtException exception = assertThrows(JwtException.class,
-                () -> jwtUtils.isValidToken(invalidToken));
-        assertEquals("Expired or invalid JWT token", exception.getMessage());
+    @DisplayName("Parse claims should throw JwtException for a malformed token")
+    void parseClaims_InvalidToken_ThrowsJwtException() {
+        assertThrows(JwtException.class, () -> jwtUtils.parseClaims(invalidToken));
     }
 
     @Test
-    @DisplayName("Get username should return the correct username from the token")
-    void getUsername_ValidToken_ReturnsUsername() {
-        assertEquals("testuser", jwtUtils.getUsername(validToken));
+    @DisplayName("Parse claims should throw ExpiredJwtException for an expired token")
+    void parseClaims_ExpiredToken_ThrowsExpiredJwtException() throws InterruptedException {
+        JwtUtils shortLivedJwtService = new JwtUtils(secret, 1L, maxAge);
+        String expiredToken = shortLivedJwtService.generateToken(user);
+        Thread.sleep(2);
+        assertThrows(ExpiredJwtException.class,
+                () -> shortLivedJwtService.parseClaims(expiredToken));
+    }
+
+    @Test
+    @DisplayName("Parse claims should reject a token signed with another key")
+    void parseClaims_ForeignSignature_ThrowsJwtException() {
+        String foreignToken = new JwtUtils(secret.replace('t', 'x'), 60000L, maxAge)
+                .generateToken(user);
+        assertThrows(JwtException.class, () -> jwtUtils.parseClaims(foreignToken));
     }
 
     @Test
-    @DisplayName("Get username should throw JwtException for an invalid token")
-    void getUsername_InvalidToken_ThrowsJwtException() {
-        assertThrows(JwtException.class,
-                () -> jwtUtils.getUsername(invalidToken));
+    @DisplayName("Parse claims should return the user id and role names embedded in the token")
+    void parseClaims_ValidToken_ReturnsUserIdAndRoles() {
+        Claims claims = jwtUtils.parseClaims(validToken);
+        assertEquals(1, claims.get(JwtUtils.USER_ID_CLAIM, Number.class).intValue());
+        assertEquals(List.of("ROLE_CUSTOMER"), claims.get(JwtUtils.ROLES_CLAIM, List.class));
+        assertNotNull(claims.getId());
     }
 
     @Test
-    @DisplayName("Validate token should return false for an expired token")
-    void isValidToken_ExpiredToken_ReturnsFalse() throws InterruptedException {
-        long shortExpiration = 1L;
-        JwtUtils shortLivedJwtService =
-                new JwtUtils(secret, shortExpiration);
-        String expiredToken = shortLivedJwtService.generateToken("testuser");
+    @DisplayName("Parse claims should reject a token older than the maximum age")
+    void parseClaims_TokenOlderThanMaxAge_ThrowsExpiredJwtException()
+            throws InterruptedException {
+        JwtUtils strictJwtService = new JwtUtils(secret, 60000L, Duration.ZERO);
+        String token = strictJwtService.generateToken(user);
         Thread.sleep(2);
-        assertThrows(JwtException.class, () -> shortLivedJwtService.isValidToken(expiredToken));
+        assertThrows(ExpiredJwtException.class, () -> strictJwtService.parseClaims(token));
     }
 }
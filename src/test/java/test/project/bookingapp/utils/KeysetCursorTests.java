@@ -0,0 +1,39 @@
+package test.project.bookingapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.project.bookingapp.exception.InvalidCursorException;
+
+class KeysetCursorTests {
+    @Test
+    @DisplayName("Encoded cursor decodes to the same position")
+    void decode_EncodedCursor_ReturnsSamePosition() {
+        KeysetCursor cursor = new KeysetCursor("2025-03-03", 42L);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(LocalDate.of(2025, 3, 3), decoded.sortKeyAsDate());
+    }
+
+    @Test
+    @DisplayName("Missing cursor means the first slice")
+    void decode_BlankCursor_ReturnsNull() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    @DisplayName("Tampered cursor is rejected")
+    void decode_MalformedCursor_ThrowsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class,
+                () -> KeysetCursor.decode(new KeysetCursor("yesterday", 1L).encode())
+                        .sortKeyAsDate());
+    }
+}
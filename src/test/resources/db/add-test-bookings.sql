@@ -15,23 +15,15 @@ INSERT INTO users_roles (user_id, role_id) VALUES (20, 1);
 INSERT INTO users_roles (user_id, role_id) VALUES (21, 1);
 
 -- Insert accommodations
-INSERT INTO accommodations (id, type, location, size, daily_rate, availability)
+INSERT INTO accommodations (id, type, location, size, daily_rate, availability, amenities)
 VALUES
-    (10, 'HOTEL', 'New York', 'Medium', 120.00, 5),
-    (11, 'APARTMENT', 'Los Angeles', 'Large', 150.00, 3);
+    (10, 'HOTEL', 'New York', 'Medium', 120.00, 5,
+     '{"Free WiFi", "Breakfast Included", "Swimming Pool"}'),
+    (11, 'APARTMENT', 'Los Angeles', 'Large', 150.00, 3,
+     '{"Kitchen", "Parking", "Balcony"}');
 
 SELECT setval('accommodations_id_seq', (SELECT MAX(id) FROM accommodations));
 
--- Insert accommodation amenities
-INSERT INTO accommodation_amenities (accommodation_id, amenity)
-VALUES
-    (10, 'Free WiFi'),
-    (10, 'Breakfast Included'),
-    (10, 'Swimming Pool'),
-    (11, 'Kitchen'),
-    (11, 'Parking'),
-    (11, 'Balcony');
-
 -- Insert bookings
 INSERT INTO bookings (id, check_in_date, check_out_date, accommodation_id, user_id, status)
 VALUES
@@ -41,3 +33,11 @@ VALUES
     (103, '2025-02-18', '2025-02-22', 11, 21, 'CANCELED');
 
 SELECT setval('bookings_id_seq', (SELECT MAX(id) FROM bookings));
+
+-- Per-night inventory for the active bookings above
+INSERT INTO accommodation_inventory (accommodation_id, day, booked_count)
+SELECT b.accommodation_id, CAST(night AS date), COUNT(*)
+FROM bookings b,
+     generate_series(b.check_in_date, b.check_out_date - 1, INTERVAL '1 day') night
+WHERE b.status IN ('PENDING', 'CONFIRMED')
+GROUP BY b.accommodation_id, CAST(night AS date);
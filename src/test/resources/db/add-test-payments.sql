@@ -34,12 +34,17 @@ VALUES
 SELECT setval('bookings_id_seq', (SELECT MAX(id) FROM bookings));
 
 -- Insert payments
-INSERT INTO payments (id, booking_id, status, session_url, session_id, amount)
+INSERT INTO payments (id, booking_id, status, session_url, session_id, amount, expires_at)
 VALUES
-    (1, 1, 'PENDING', 'http://test-url.com/session1', 'test-session-1', 100.00),
-    (2, 2, 'PAID', 'http://test-url.com/session2', 'test-session-2', 150.00),
-    (3, 3, 'PENDING', 'http://test-url.com/session3', 'test-session-3', 150.00),
-    (4, 4, 'PENDING', 'http://test-url.com/session4', 'test-session-4', 175.24),
-    (5, 200, 'EXPIRED', 'http://test-url.com/session5', 'test-session-5', 175.24);
+    (1, 1, 'PENDING', 'http://test-url.com/session1', 'test-session-1', 100.00,
+     now() - interval '1 hour'),
+    (2, 2, 'PAID', 'http://test-url.com/session2', 'test-session-2', 150.00,
+     now() - interval '1 hour'),
+    (3, 3, 'PENDING', 'http://test-url.com/session3', 'test-session-3', 150.00,
+     now() + interval '1 hour'),
+    (4, 4, 'PENDING', 'http://test-url.com/session4', 'test-session-4', 175.24,
+     now() + interval '1 hour'),
+    (5, 200, 'EXPIRED', 'http://test-url.com/session5', 'test-session-5', 175.24,
+     now() - interval '1 hour');
 
 SELECT setval('payments_id_seq', (SELECT MAX(id) FROM payments));
@@ -1,10 +1,12 @@
 -- clean-data.sql
 DELETE FROM bookings;
-DELETE FROM accommodation_amenities;
 DELETE FROM accommodations;
 DELETE FROM users_roles;
 DELETE FROM users;
 DELETE FROM roles;
+DELETE FROM processed_events;
+DELETE FROM notification_outbox;
+DELETE FROM revoked_tokens;
 
 -- Reset sequences
 SELECT setval('users_id_seq', 1, false);